@@ -1,10 +1,25 @@
 package src.main.java.streams.IntermediateOperations;
 
 import java.util.List;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Practice Problems for distinct():
@@ -13,6 +28,12 @@ import java.util.Set;
  * 3. Advanced: Remove duplicate Employee objects based on employee ID.
  * 4. Custom: Remove duplicate Employee objects based on name.
  * 5. Custom: Remove duplicate Employee objects based on both name and id.
+ * 6. Advanced: Remove duplicate ints with an open-addressing primitive set (no Integer/HashMap nodes).
+ * 7. Advanced: Remove duplicate employee IDs in parallel without boxing.
+ * 8. Advanced: Remove duplicate Employee objects by name and id without building key strings.
+ * 9. Advanced: Remove duplicate strings case-insensitively without toLowerCase() copies.
+ * 10. Advanced: Remove duplicate Employee objects by ID safely in a parallel stream (ordered and unordered).
+ * 11. Advanced: Deduplicate an unbounded event stream with bounded memory (count or time window).
  */
 public class Distinct_Example {
     public static class Employee {
@@ -76,6 +97,752 @@ public class Distinct_Example {
         System.out.println("Output (distinct by name and id): " + result);
     }
 
+    // 6. Advanced: Remove duplicate ints with an open-addressing primitive set.
+    public static void removeDuplicatesPrimitive(int[] numbers) {
+        System.out.println("Input: " + Arrays.toString(numbers));
+        int[] result = distinct(IntStream.of(numbers)).toArray();
+        System.out.println("Output (distinct): " + Arrays.toString(result));
+    }
+
+    // 7. Advanced: Remove duplicate employee IDs in parallel without boxing.
+    public static void distinctEmployeeIdsParallel(List<Employee> employees) {
+        System.out.println("Input: " + employees);
+        int[] result = distinctUnordered(employees.parallelStream().mapToInt(e -> e.id)).sorted().toArray();
+        System.out.println("Output (distinct IDs, parallel, sorted): " + Arrays.toString(result));
+    }
+
+    // 8. Advanced: Remove duplicate Employee objects by name and id without building key strings.
+    public static void removeDuplicateEmployeesByNameAndIdInPlace(List<Employee> employees) {
+        System.out.println("Input: " + employees);
+        List<Employee> result = employees.stream()
+                .filter(distinctBy(KeyPart.of(e -> e.name), KeyPart.ofInt(e -> e.id)))
+                .collect(Collectors.toList());
+        System.out.println("Output (distinct by name and id): " + result);
+        long parallelCount = employees.parallelStream()
+                .filter(distinctByConcurrent(KeyPart.of(e -> e.name), KeyPart.ofInt(e -> e.id)))
+                .count();
+        System.out.println("Output (distinct count, parallel): " + parallelCount);
+    }
+
+    // 9. Advanced: Remove duplicate strings case-insensitively without toLowerCase() copies.
+    public static void removeDuplicateStringsIgnoreCaseInPlace(List<String> words) {
+        System.out.println("Input: " + words);
+        List<String> result = words.stream()
+                .filter(distinctBy(KeyPart.ignoreCase(w -> w)))
+                .collect(Collectors.toList());
+        System.out.println("Output (distinct, ignore case): " + result);
+    }
+
+    // 10. Advanced: Remove duplicate Employee objects by ID safely in a parallel stream.
+    public static void removeDuplicateEmployeesByIdParallel(List<Employee> employees) {
+        System.out.println("Input: " + employees);
+        // filter(e -> seenIds.add(e.id)) with a HashSet races here and can keep duplicates.
+        List<Employee> ordered = employees.parallelStream()
+                .collect(toDistinctListBy(KeyPart.ofInt(e -> e.id)));
+        long unordered = distinctByUnordered(employees.parallelStream(), KeyPart.ofInt(e -> e.id)).count();
+        System.out.println("Output (distinct by ID, parallel, first occurrence): " + ordered);
+        System.out.println("Output (distinct ID count, parallel, unordered): " + unordered);
+    }
+
+    // 11. Advanced: Deduplicate an unbounded event stream with bounded memory.
+    public static void dedupUnboundedEvents(int events) {
+        System.out.println("Input: " + events + " events, each ID repeated 3 times in a row, window of 100 events");
+        // Event i carries ID i / 3, so every ID shows up three times in a row.
+        WindowedDedup<Integer> exact = WindowedDedup.byCount(100, 4, 200, false);
+        long uniqueExact = Stream.iterate(0, i -> i + 1).limit(events)
+                .map(i -> i / 3)
+                .filter(exact::firstInWindow)
+                .count();
+        WindowedDedup<Integer> approximate = WindowedDedup.byCount(100, 4, 200, true);
+        long uniqueApproximate = Stream.iterate(0, i -> i + 1).limit(events)
+                .map(i -> i / 3)
+                .filter(approximate::firstInWindow)
+                .count();
+        System.out.println("Output (unique, exact): " + uniqueExact + ", keys retained: " + exact.retainedKeys());
+        System.out.println("Output (unique, probabilistic): " + uniqueApproximate + ", keys retained: " + approximate.retainedKeys());
+        // The window has rolled over many times, so the first ID has been forgotten.
+        System.out.println("Output (ID 0 seen again, passes): " + exact.firstInWindow(0));
+
+        long[] now = {0};
+        WindowedDedup<String> byTime = WindowedDedup.byTime(5, TimeUnit.MINUTES, () -> now[0], 4, 20_000, false);
+        List<String> passed = new ArrayList<>();
+        for (String id : Arrays.asList("a", "b", "a")) if (byTime.firstInWindow(id)) passed.add(id);
+        now[0] = TimeUnit.MINUTES.toNanos(10);  // Ten minutes later "a" is new again
+        for (String id : Arrays.asList("a", "b")) if (byTime.firstInWindow(id)) passed.add(id);
+        System.out.println("Output (time window, 5 min): " + passed);
+    }
+
+    /**
+     * Dedup with bounded retention for infinite streams, where duplicates only arrive close
+     * together. Keys live in a ring of generations: new keys go into the newest one, lookups
+     * check all of them, and rotating clears the oldest generation and makes it the newest.
+     * A key is therefore remembered for at least one full window and at most one extra
+     * generation span. Rotation happens every window / (generations - 1) elements or time,
+     * and also early whenever the total reaches maxKeys, so memory never exceeds the cap.
+     *
+     * Probabilistic mode stores each generation as a Bloom filter sized for maxKeys
+     * (fixed memory, ~1% false positives: a few unique keys are dropped as duplicates).
+     * The cap limits only the total, so a burst can put all maxKeys keys into one generation;
+     * sizing every generation for the full cap keeps the rate at ~1% even then, at a cost
+     * of generations x 10 bits per key of maxKeys.
+     *
+     * Methods are synchronized, so one instance may be shared by a parallel stream.
+     */
+    public static class WindowedDedup<K> {
+        private final Generation[] generations;
+        private final long span;          // elements or nanos per generation
+        private final boolean timeBased;
+        private final LongSupplier clock;
+        private final int maxKeys;
+        private int newest;
+        private long generationStart;
+        private long counter;
+
+        public static <K> WindowedDedup<K> byCount(long window, int generations, int maxKeys, boolean probabilistic) {
+            return new WindowedDedup<>(window, false, null, generations, maxKeys, probabilistic);
+        }
+
+        public static <K> WindowedDedup<K> byTime(long window, TimeUnit unit, LongSupplier nanoClock,
+                                                  int generations, int maxKeys, boolean probabilistic) {
+            return new WindowedDedup<>(unit.toNanos(window), true, nanoClock, generations, maxKeys, probabilistic);
+        }
+
+        private WindowedDedup(long window, boolean timeBased, LongSupplier clock,
+                              int generationCount, int maxKeys, boolean probabilistic) {
+            if (generationCount < 2) throw new IllegalArgumentException("Need at least 2 generations: " + generationCount);
+            if (window < generationCount - 1) throw new IllegalArgumentException("Window too small: " + window);
+            if (maxKeys < 1) throw new IllegalArgumentException("maxKeys must be >= 1: " + maxKeys);
+            this.span = window / (generationCount - 1);
+            this.timeBased = timeBased;
+            this.clock = clock;
+            this.maxKeys = maxKeys;
+            this.generations = new Generation[generationCount];
+            for (int i = 0; i < generationCount; i++) {
+                generations[i] = probabilistic ? new BloomGeneration(maxKeys) : new HashGeneration();
+            }
+            this.generationStart = timeBased ? clock.getAsLong() : 0;
+        }
+
+        // True the first time a key is seen within the window; use as filter(dedup::firstInWindow).
+        public synchronized boolean firstInWindow(K key) {
+            long position = timeBased ? clock.getAsLong() : counter++;
+            if (position - generationStart >= span * generations.length) {
+                for (Generation g : generations) g.clear();  // Long idle gap: everything is stale
+                generationStart = position;
+            }
+            while (position - generationStart >= span) {
+                rotate();
+                generationStart += span;
+            }
+            for (Generation g : generations) {
+                if (g.contains(key)) return false;
+            }
+            while (retainedKeys() >= maxKeys) {
+                rotate();  // Hard cap: forget the oldest keys early
+            }
+            generations[newest].add(key);
+            return true;
+        }
+
+        public synchronized int retainedKeys() {
+            int total = 0;
+            for (Generation g : generations) total += g.size();
+            return total;
+        }
+
+        private void rotate() {
+            newest = (newest + 1) % generations.length;
+            generations[newest].clear();
+        }
+    }
+
+    private interface Generation {
+        boolean contains(Object key);
+        void add(Object key);
+        void clear();
+        int size();
+    }
+
+    private static class HashGeneration implements Generation {
+        private final Set<Object> keys = new HashSet<>();
+        public boolean contains(Object key) { return keys.contains(key); }
+        public void add(Object key) { keys.add(key); }
+        public void clear() { keys.clear(); }
+        public int size() { return keys.size(); }
+    }
+
+    // Bloom filter at ~10 bits and 7 hashes per key (~1% false positives); size() counts insertions.
+    private static class BloomGeneration implements Generation {
+        private static final int HASHES = 7;
+        private final long[] bits;
+        private final long bitCount;
+        private int size;
+
+        BloomGeneration(int expectedKeys) {
+            bits = new long[(int) Math.max(1, (expectedKeys * 10L + 63) / 64)];
+            bitCount = bits.length * 64L;
+        }
+
+        public boolean contains(Object key) {
+            int h = IntHashSet.mix(Objects.hashCode(key)), h2 = IntHashSet.mix(h) | 1;
+            for (int i = 0; i < HASHES; i++) {
+                long bit = ((h + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+                if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        public void add(Object key) {
+            int h = IntHashSet.mix(Objects.hashCode(key)), h2 = IntHashSet.mix(h) | 1;
+            for (int i = 0; i < HASHES; i++) {
+                long bit = ((h + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+                bits[(int) (bit >>> 6)] |= 1L << bit;
+            }
+            size++;
+        }
+
+        public void clear() {
+            Arrays.fill(bits, 0L);
+            size = 0;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * distinctBy forms that stay safe however the stream is run, including when .parallel()
+     * is called later (the parallel flag is only read at the terminal operation).
+     * distinctByUnordered: lazy filter through the lock-striped set; threads only contend when
+     *   their keys hash to the same stripe, so it scales with cores. Which duplicate survives
+     *   is arbitrary, and an infinite source is fine.
+     * toDistinctListBy: terminal collector with the exact sequential first-occurrence result.
+     *   Each split keeps its own first occurrences, and the ordered combiner appends only
+     *   right-split elements whose key the left split has not seen.
+     */
+    @SafeVarargs
+    public static <T> Stream<T> distinctByUnordered(Stream<T> stream, KeyPart<? super T>... parts) {
+        List<KeyPart<? super T>> list = new ArrayList<>();
+        for (KeyPart<? super T> part : parts) list.add(part);
+        return stream.unordered().filter(distinctByConcurrent(list));
+    }
+
+    @SafeVarargs
+    public static <T> Collector<T, DistinctElements<T>, List<T>> toDistinctListBy(KeyPart<? super T>... parts) {
+        List<KeyPart<? super T>> list = new ArrayList<>();
+        for (KeyPart<? super T> part : parts) list.add(part);
+        return Collector.of(() -> new DistinctElements<>(list), DistinctElements::add,
+                (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                },
+                unique -> unique.elements);
+    }
+
+    // First occurrences of one split, in encounter order, plus the set used to test them.
+    public static class DistinctElements<T> {
+        private final ElementSet<T> seen;
+        private final List<T> elements = new ArrayList<>();
+
+        public DistinctElements(List<KeyPart<? super T>> parts) {
+            this.seen = new ElementSet<>(parts);
+        }
+
+        public void add(T element) {
+            if (seen.add(element)) elements.add(element);
+        }
+
+        public void addAll(DistinctElements<T> right) {
+            right.elements.forEach(this::add);
+        }
+    }
+
+    /*
+     * filter(e -> seen.add(e.name + ":" + e.id)) allocates a String per element just to get
+     * hashCode/equals over two fields. distinctBy hashes and compares the fields straight from
+     * the element: the seen-set stores the first element of each key, not a key object.
+     */
+
+    /**
+     * One component of a composite key: how to hash it and compare it, read directly from
+     * the element. Build custom strategies by implementing both methods consistently.
+     */
+    public interface KeyPart<T> {
+        int hash(T element);
+        boolean same(T a, T b);
+
+        // hashCode()/equals() of a field.
+        static <T> KeyPart<T> of(Function<? super T, ?> field) {
+            return new KeyPart<T>() {
+                public int hash(T element) {
+                    return Objects.hashCode(field.apply(element));
+                }
+                public boolean same(T a, T b) {
+                    return Objects.equals(field.apply(a), field.apply(b));
+                }
+            };
+        }
+
+        // int field without boxing.
+        static <T> KeyPart<T> ofInt(ToIntFunction<? super T> field) {
+            return new KeyPart<T>() {
+                public int hash(T element) {
+                    return field.applyAsInt(element);
+                }
+                public boolean same(T a, T b) {
+                    return field.applyAsInt(a) == field.applyAsInt(b);
+                }
+            };
+        }
+
+        // Case-insensitive String field: hashes folded chars in place, compares with equalsIgnoreCase.
+        static <T> KeyPart<T> ignoreCase(Function<? super T, String> field) {
+            return new KeyPart<T>() {
+                public int hash(T element) {
+                    String s = field.apply(element);
+                    if (s == null) return 0;
+                    int h = 0;
+                    for (int i = 0; i < s.length(); i++) {
+                        h = 31 * h + Character.toLowerCase(Character.toUpperCase(s.charAt(i)));
+                    }
+                    return h;
+                }
+                public boolean same(T a, T b) {
+                    String x = field.apply(a), y = field.apply(b);
+                    return x == null ? y == null : x.equalsIgnoreCase(y);
+                }
+            };
+        }
+    }
+
+    // Predicate passing the first element of each composite key. Sequential streams only.
+    @SafeVarargs
+    public static <T> Predicate<T> distinctBy(KeyPart<? super T>... parts) {
+        List<KeyPart<? super T>> list = new ArrayList<>();
+        for (KeyPart<? super T> part : parts) list.add(part);
+        ElementSet<T> seen = new ElementSet<>(list);
+        return seen::add;
+    }
+
+    // Same as distinctBy, safe for parallel streams: the seen-set is split into locked stripes,
+    // about 8 per core, so the chance two threads want the same stripe stays low.
+    @SafeVarargs
+    public static <T> Predicate<T> distinctByConcurrent(KeyPart<? super T>... parts) {
+        List<KeyPart<? super T>> list = new ArrayList<>();
+        for (KeyPart<? super T> part : parts) list.add(part);
+        return distinctByConcurrent(list);
+    }
+
+    private static <T> Predicate<T> distinctByConcurrent(List<KeyPart<? super T>> parts) {
+        int stripeCount = Math.max(16, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 8));
+        int shift = 32 - Integer.numberOfTrailingZeros(stripeCount);
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ElementSet<T>[] stripes = new ElementSet[stripeCount];
+        for (int i = 0; i < stripeCount; i++) stripes[i] = new ElementSet<>(parts);
+        return t -> {
+            int h = stripes[0].hash(t);
+            ElementSet<T> stripe = stripes[IntHashSet.mix(h) >>> shift];
+            synchronized (stripe) {
+                return stripe.add(t, h);
+            }
+        };
+    }
+
+    /**
+     * Open-addressing set of elements, hashed and compared through KeyParts. Each slot keeps
+     * the element and its cached hash, so probing compares fields only when hashes match.
+     */
+    public static class ElementSet<T> {
+        private final List<KeyPart<? super T>> parts;
+        private Object[] elements = new Object[16];
+        private int[] hashes = new int[16];
+        private int size;
+
+        @SafeVarargs
+        public ElementSet(KeyPart<? super T>... parts) {
+            this.parts = new ArrayList<>();
+            for (KeyPart<? super T> part : parts) this.parts.add(part);
+            if (this.parts.isEmpty()) throw new IllegalArgumentException("At least one key part is required");
+        }
+
+        public ElementSet(List<KeyPart<? super T>> parts) {
+            if (parts.isEmpty()) throw new IllegalArgumentException("At least one key part is required");
+            this.parts = parts;
+        }
+
+        public int hash(T element) {
+            int h = 1;
+            for (KeyPart<? super T> part : parts) h = 31 * h + part.hash(element);
+            return h;
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean same(Object a, T b) {
+            for (KeyPart<? super T> part : parts) {
+                if (!part.same((T) a, b)) return false;
+            }
+            return true;
+        }
+
+        public boolean add(T element) {
+            return add(element, hash(element));
+        }
+
+        // h must be hash(element); lets callers that already hashed skip a second pass.
+        public boolean add(T element, int h) {
+            int mask = elements.length - 1;
+            for (int i = IntHashSet.mix(h) & mask; ; i = (i + 1) & mask) {
+                Object slot = elements[i];
+                if (slot == null) {
+                    elements[i] = element;
+                    hashes[i] = h;
+                    if (++size * 2 > elements.length) grow();
+                    return true;
+                }
+                if (hashes[i] == h && same(slot, element)) return false;
+            }
+        }
+
+        public int size() {
+            return size;
+        }
+
+        private void grow() {
+            Object[] oldElements = elements;
+            int[] oldHashes = hashes;
+            elements = new Object[oldElements.length * 2];
+            hashes = new int[oldElements.length * 2];
+            int mask = elements.length - 1;
+            for (int j = 0; j < oldElements.length; j++) {
+                if (oldElements[j] == null) continue;
+                int i = IntHashSet.mix(oldHashes[j]) & mask;
+                while (elements[i] != null) i = (i + 1) & mask;
+                elements[i] = oldElements[j];
+                hashes[i] = oldHashes[j];
+            }
+        }
+    }
+
+    /*
+     * distinct() on Stream<Integer> keeps a HashSet<Integer>: a boxed Integer plus a HashMap
+     * node (~48 bytes) per unique value, and IntStream.distinct() boxes too. These stages keep
+     * unique values in a flat int[]/long[] open-addressing table instead (4-8 bytes per slot
+     * at <= 50% load), with no per-entry objects.
+     *
+     * distinct() keeps exactly the first occurrences in encounter order, like
+     * IntStream.distinct(), through an unsynchronized set. The stage is a spliterator that
+     * never splits, so the set is only touched by the thread traversing it, even when
+     * .parallel() is called on the result (a pipeline only reads that flag at its terminal
+     * operation). Upstream stages are pulled through that one thread, too.
+     * distinctUnordered() is the parallel form: a lazy filter through a lock-striped set that
+     * every split shares. It keeps the same values, but which occurrence survives (and so the
+     * output order) is not fixed.
+     */
+
+    public static IntStream distinct(IntStream stream) {
+        return StreamSupport.intStream(new DistinctIntSpliterator(stream.spliterator()), stream.isParallel())
+                .onClose(stream::close);
+    }
+
+    public static IntStream distinctUnordered(IntStream stream) {
+        StripedIntHashSet seen = new StripedIntHashSet(64);
+        return stream.unordered().filter(seen::add);
+    }
+
+    public static LongStream distinct(LongStream stream) {
+        return StreamSupport.longStream(new DistinctLongSpliterator(stream.spliterator()), stream.isParallel())
+                .onClose(stream::close);
+    }
+
+    public static LongStream distinctUnordered(LongStream stream) {
+        StripedLongHashSet seen = new StripedLongHashSet(64);
+        return stream.unordered().filter(seen::add);
+    }
+
+    // Passes the first occurrence of each value from source; trySplit() always returns null.
+    private static final class DistinctIntSpliterator implements Spliterator.OfInt, IntConsumer {
+        private final Spliterator.OfInt source;
+        private final IntHashSet seen = new IntHashSet();
+        private int next;
+        private boolean found;
+
+        DistinctIntSpliterator(Spliterator.OfInt source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            found = false;
+            while (!found && source.tryAdvance((IntConsumer) this)) { }
+            if (found) action.accept(next);
+            return found;
+        }
+
+        @Override
+        public void accept(int value) {
+            if (seen.add(value)) {
+                next = value;
+                found = true;
+            }
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            source.forEachRemaining((int value) -> {
+                if (seen.add(value)) action.accept(value);
+            });
+        }
+
+        @Override public Spliterator.OfInt trySplit() { return null; }
+        @Override public long estimateSize() { return source.estimateSize(); }
+
+        @Override
+        public int characteristics() {
+            return (source.characteristics() & ORDERED) | DISTINCT | NONNULL;
+        }
+    }
+
+    // Same as DistinctIntSpliterator, for longs.
+    private static final class DistinctLongSpliterator implements Spliterator.OfLong, LongConsumer {
+        private final Spliterator.OfLong source;
+        private final LongHashSet seen = new LongHashSet();
+        private long next;
+        private boolean found;
+
+        DistinctLongSpliterator(Spliterator.OfLong source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            found = false;
+            while (!found && source.tryAdvance((LongConsumer) this)) { }
+            if (found) action.accept(next);
+            return found;
+        }
+
+        @Override
+        public void accept(long value) {
+            if (seen.add(value)) {
+                next = value;
+                found = true;
+            }
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            source.forEachRemaining((long value) -> {
+                if (seen.add(value)) action.accept(value);
+            });
+        }
+
+        @Override public Spliterator.OfLong trySplit() { return null; }
+        @Override public long estimateSize() { return source.estimateSize(); }
+
+        @Override
+        public int characteristics() {
+            return (source.characteristics() & ORDERED) | DISTINCT | NONNULL;
+        }
+    }
+
+    /**
+     * Predicate that passes the first element seen for each int key, e.g.
+     * filter(distinctByIntKey(e -> e.id, false)). Use parallel = true for parallel streams;
+     * there, which of the duplicates survives is not guaranteed to be the first in encounter order.
+     */
+    public static <T> Predicate<T> distinctByIntKey(ToIntFunction<? super T> key, boolean parallel) {
+        if (parallel) {
+            StripedIntHashSet seen = new StripedIntHashSet(64);
+            return t -> seen.add(key.applyAsInt(t));
+        }
+        IntHashSet seen = new IntHashSet();
+        return t -> seen.add(key.applyAsInt(t));
+    }
+
+    /**
+     * Open-addressing int set with linear probing. 0 marks an empty slot, so the key 0 is
+     * tracked with a separate flag. The table doubles when it passes half full.
+     */
+    public static class IntHashSet {
+        private int[] table = new int[16];
+        private int used;
+        private boolean containsZero;
+
+        public boolean add(int key) {
+            if (key == 0) {
+                if (containsZero) return false;
+                containsZero = true;
+                return true;
+            }
+            int mask = table.length - 1;
+            for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+                int slot = table[i];
+                if (slot == 0) {
+                    table[i] = key;
+                    if (++used * 2 > table.length) grow();
+                    return true;
+                }
+                if (slot == key) return false;
+            }
+        }
+
+        public boolean contains(int key) {
+            if (key == 0) return containsZero;
+            int mask = table.length - 1;
+            for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+                int slot = table[i];
+                if (slot == 0) return false;
+                if (slot == key) return true;
+            }
+        }
+
+        public int size() {
+            return used + (containsZero ? 1 : 0);
+        }
+
+        private void grow() {
+            int[] old = table;
+            table = new int[old.length * 2];
+            int mask = table.length - 1;
+            for (int key : old) {
+                if (key == 0) continue;
+                int i = mix(key) & mask;
+                while (table[i] != 0) i = (i + 1) & mask;
+                table[i] = key;
+            }
+        }
+
+        // MurmurHash3 fmix32: spreads sequential ids so linear probing stays short.
+        static int mix(int h) {
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            h ^= h >>> 16;
+            return h;
+        }
+    }
+
+    // Same layout as IntHashSet, for longs.
+    public static class LongHashSet {
+        private long[] table = new long[16];
+        private int used;
+        private boolean containsZero;
+
+        public boolean add(long key) {
+            if (key == 0) {
+                if (containsZero) return false;
+                containsZero = true;
+                return true;
+            }
+            int mask = table.length - 1;
+            for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+                long slot = table[i];
+                if (slot == 0) {
+                    table[i] = key;
+                    if (++used * 2 > table.length) grow();
+                    return true;
+                }
+                if (slot == key) return false;
+            }
+        }
+
+        public boolean contains(long key) {
+            if (key == 0) return containsZero;
+            int mask = table.length - 1;
+            for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+                long slot = table[i];
+                if (slot == 0) return false;
+                if (slot == key) return true;
+            }
+        }
+
+        public int size() {
+            return used + (containsZero ? 1 : 0);
+        }
+
+        private void grow() {
+            long[] old = table;
+            table = new long[old.length * 2];
+            int mask = table.length - 1;
+            for (long key : old) {
+                if (key == 0) continue;
+                int i = mix(key) & mask;
+                while (table[i] != 0) i = (i + 1) & mask;
+                table[i] = key;
+            }
+        }
+
+        // MurmurHash3 fmix64, folded to an int.
+        static int mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb93fe53ec2d3L;
+            h ^= h >>> 33;
+            return (int) h;
+        }
+    }
+
+    /**
+     * Concurrent int set: a power-of-two number of IntHashSet stripes, each with its own lock.
+     * The top bits of the hash pick the stripe (the stripe's table uses the low bits), so
+     * threads adding different keys rarely wait on each other.
+     */
+    public static class StripedIntHashSet {
+        private final IntHashSet[] stripes;
+        private final int shift;
+
+        public StripedIntHashSet(int stripeCount) {
+            int n = Integer.highestOneBit(Math.max(2, stripeCount - 1) << 1);
+            stripes = new IntHashSet[n];
+            for (int i = 0; i < n; i++) stripes[i] = new IntHashSet();
+            shift = 32 - Integer.numberOfTrailingZeros(n);
+        }
+
+        public boolean add(int key) {
+            IntHashSet stripe = stripes[IntHashSet.mix(key) >>> shift];
+            synchronized (stripe) {
+                return stripe.add(key);
+            }
+        }
+
+        public boolean contains(int key) {
+            IntHashSet stripe = stripes[IntHashSet.mix(key) >>> shift];
+            synchronized (stripe) {
+                return stripe.contains(key);
+            }
+        }
+    }
+
+    // Same striping as StripedIntHashSet, for longs.
+    public static class StripedLongHashSet {
+        private final LongHashSet[] stripes;
+        private final int shift;
+
+        public StripedLongHashSet(int stripeCount) {
+            int n = Integer.highestOneBit(Math.max(2, stripeCount - 1) << 1);
+            stripes = new LongHashSet[n];
+            for (int i = 0; i < n; i++) stripes[i] = new LongHashSet();
+            shift = 32 - Integer.numberOfTrailingZeros(n);
+        }
+
+        public boolean add(long key) {
+            LongHashSet stripe = stripes[LongHashSet.mix(key) >>> shift];
+            synchronized (stripe) {
+                return stripe.add(key);
+            }
+        }
+
+        public boolean contains(long key) {
+            LongHashSet stripe = stripes[LongHashSet.mix(key) >>> shift];
+            synchronized (stripe) {
+                return stripe.contains(key);
+            }
+        }
+    }
+
     public static void main(String[] args) {
         List<Integer> nums = Arrays.asList(1, 2, 2, 3, 4, 4, 5);
         List<String> words = Arrays.asList("Apple", "Banana", "apple", "banana", "Cherry");
@@ -92,5 +859,11 @@ public class Distinct_Example {
         removeDuplicateEmployeesById(employees);
         removeDuplicateEmployeesByName(employees);
         removeDuplicateEmployeesByNameAndId(employees);
+        removeDuplicatesPrimitive(new int[] {1, 2, 2, 3, 0, 4, 4, 0, 5});
+        distinctEmployeeIdsParallel(employees);
+        removeDuplicateEmployeesByNameAndIdInPlace(employees);
+        removeDuplicateStringsIgnoreCaseInPlace(words);
+        removeDuplicateEmployeesByIdParallel(employees);
+        dedupUnboundedEvents(3_000);
     }
 } 
\ No newline at end of file
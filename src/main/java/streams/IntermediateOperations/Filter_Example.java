@@ -2,7 +2,12 @@ package src.main.java.streams.IntermediateOperations;
 
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
 
 /**
  * Practice Problems for filter():
@@ -15,6 +20,9 @@ import java.util.Arrays;
  * 7. Custom: Filter employees whose name starts with a given letter.
  * 8. Custom: Filter employees in a salary band (e.g., Medium).
  * 9. Custom: Filter employees with age between 25 and 35 and in Engineering.
+ * 10. Advanced: Filter prime numbers with a cached sieve (O(1) lookups) instead of trial division.
+ * 11. Advanced: Count primes in a large int range in parallel with a primitive IntStream filter.
+ * 12. Advanced: Filter with several conditions whose evaluation order is tuned at runtime.
  */
 public class Filter_Example {
     public static class Employee {
@@ -79,7 +87,7 @@ public class Filter_Example {
     }
     private static boolean isPrime(int n) {
         if (n <= 1) return false;
-        for (int i = 2; i <= Math.sqrt(n); i++) {
+        for (int i = 2; (long) i * i <= n; i++) {
             if (n % i == 0) return false;
         }
         return true;
@@ -125,6 +133,269 @@ public class Filter_Example {
         System.out.println("Output (age 25-35, Engineering): " + result);
     }
 
+    // 10. Advanced: Filter prime numbers with a cached sieve instead of trial division.
+    public static void filterPrimesSieve(List<Integer> numbers) {
+        System.out.println("Input: " + numbers);
+        List<Integer> result = numbers.stream()
+                .filter(PrimeSieve::isPrime)
+                .collect(Collectors.toList());
+        System.out.println("Output (primes): " + result);
+    }
+
+    // 11. Advanced: Count primes in a large int range in parallel with a primitive IntStream filter.
+    public static void countPrimesInRange(int from, int to) {
+        System.out.println("Input: [" + from + ", " + to + ")");
+        PrimeSieve.ensureLimit(to);  // Sieve once up front (in parallel) rather than growing mid-stream
+        long count = PrimeSieve.primes(IntStream.range(from, to).parallel()).count();
+        System.out.println("Output (prime count): " + count);
+        System.out.println("Output (prime beyond the sieve, Miller-Rabin): " + PrimeSieve.isPrime(2_147_483_647));
+    }
+
+    // 12. Advanced: Filter with several conditions whose evaluation order is tuned at runtime.
+    public static void filterWithAdaptiveOrder(int size) {
+        List<Employee> employees = randomEmployees(size, 42);
+        System.out.println("Input: " + employees.size() + " employees");
+        AdaptiveFilter<Employee> filter = new AdaptiveFilter<Employee>()
+                .and("name matches [A-M].*", e -> e.name.matches("[A-M].*"))  // expensive, passes ~half
+                .and("age 25-35", e -> e.age >= 25 && e.age <= 35)
+                .and("Finance", e -> "Finance".equals(e.department));        // cheap, selective
+        System.out.println("Initial order: " + filter.currentOrder());
+        long count = employees.parallelStream().filter(filter).count();
+        System.out.println("Output (matching): " + count);
+        System.out.println("Adapted order: " + filter.currentOrder());
+    }
+
+    // Seeded, so the example prints the same matches on every run. Names start with A-Z.
+    private static List<Employee> randomEmployees(int size, long seed) {
+        Random random = new Random(seed);
+        String[] departments = {"HR", "Engineering", "Finance", "Marketing", "Sales", "Legal", "Support", "Ops"};
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(new Employee((char) ('A' + random.nextInt(26)) + "mployee" + i, 20 + random.nextInt(40),
+                    departments[random.nextInt(departments.length)], 40000 + random.nextInt(80000)));
+        }
+        return employees;
+    }
+
+    /**
+     * AND of named predicates that reorders itself by measured selectivity and cost.
+     * Each thread counts down a jittered gap averaging 64 elements and then takes a sample,
+     * so the random draw happens once per sample. Every predicate runs on a sample (no
+     * short-circuit, so pass rates are not skewed by the current order) and each one is
+     * timed. Other elements run the current order and stop at the first failure. Every 32
+     * samples the predicates are re-sorted by cost / (1 - passRate), which minimizes the
+     * expected work of a short-circuiting AND, and older statistics are halved so it
+     * re-adapts when the data changes. The result never depends on the order, only the
+     * speed does.
+     */
+    public static class AdaptiveFilter<T> implements Predicate<T> {
+        private static final int SAMPLE_ONE_IN = 64;
+        private static final int REORDER_EVERY_SAMPLES = 32;
+        private static final int CELLS = 64;          // power of two
+        private static final int CELL_STRIDE = 16;    // ints per countdown: one 64-byte line each
+
+        private final List<Stage<T>> stages = new ArrayList<>();
+        private volatile List<Stage<T>> order = new ArrayList<>();
+        // Per-thread sample countdowns, picked by thread id. Two threads sharing a cell only
+        // change how often they sample; the statistics are ratios over samples, so nothing is biased.
+        private final int[] untilSample = new int[CELLS * CELL_STRIDE];
+        private long samples;
+
+        private static final class Stage<T> {
+            final String name;
+            final Predicate<? super T> predicate;
+            double evaluations, passes, nanos;
+            Stage(String name, Predicate<? super T> predicate) {
+                this.name = name;
+                this.predicate = predicate;
+            }
+            double rank() {
+                if (evaluations == 0) return 0;
+                double costPerCall = nanos / evaluations;
+                double rejectRate = 1.0 - passes / evaluations;
+                return costPerCall / Math.max(rejectRate, 1e-6);
+            }
+        }
+
+        public synchronized AdaptiveFilter<T> and(String name, Predicate<? super T> predicate) {
+            stages.add(new Stage<>(name, predicate));
+            order = new ArrayList<>(stages);
+            return this;
+        }
+
+        @Override
+        public boolean test(T element) {
+            List<Stage<T>> current = order;
+            int cell = ((int) Thread.currentThread().getId() & (CELLS - 1)) * CELL_STRIDE;
+            if (--untilSample[cell] <= 0) {
+                // Gap uniform in [1, 2 * SAMPLE_ONE_IN - 1]: one random draw per sample, not per element.
+                untilSample[cell] = 1 + ThreadLocalRandom.current().nextInt(2 * SAMPLE_ONE_IN - 1);
+                return sample(current, element);
+            }
+            for (Stage<T> stage : current) {
+                if (!stage.predicate.test(element)) return false;
+            }
+            return true;
+        }
+
+        private boolean sample(List<Stage<T>> current, T element) {
+            boolean[] passed = new boolean[current.size()];
+            long[] took = new long[current.size()];
+            boolean all = true;
+            for (int i = 0; i < current.size(); i++) {
+                long start = System.nanoTime();
+                passed[i] = current.get(i).predicate.test(element);
+                took[i] = System.nanoTime() - start;
+                all &= passed[i];
+            }
+            synchronized (this) {
+                for (int i = 0; i < current.size(); i++) {
+                    Stage<T> stage = current.get(i);
+                    stage.evaluations++;
+                    stage.nanos += took[i];
+                    if (passed[i]) stage.passes++;
+                }
+                if (++samples % REORDER_EVERY_SAMPLES == 0) reorder();
+            }
+            return all;
+        }
+
+        private void reorder() {
+            List<Stage<T>> next = new ArrayList<>(stages);
+            next.sort((a, b) -> Double.compare(a.rank(), b.rank()));
+            for (Stage<T> stage : stages) {
+                stage.evaluations /= 2;
+                stage.passes /= 2;
+                stage.nanos /= 2;
+            }
+            order = next;
+        }
+
+        public List<String> currentOrder() {
+            List<String> names = new ArrayList<>();
+            for (Stage<T> stage : order) names.add(stage.name);
+            return names;
+        }
+    }
+
+    /**
+     * Primality for ints backed by a cached sieve bitset (bit n set = n is prime).
+     * Lookups below the sieve limit are one array read. The sieve grows on demand by at
+     * least doubling, up to 2^26 (8 MB); it is rebuilt as a segmented Sieve of Eratosthenes
+     * whose 64-bit-aligned segments are marked in parallel, each writing only its own words.
+     * Larger values use Miller-Rabin with bases 2, 7 and 61, which is exact for every int.
+     * Readers see an immutable snapshot, so lookups from parallel streams need no locking.
+     */
+    public static final class PrimeSieve {
+        private static final int SEGMENT_BITS = 1 << 18;
+        private static final int MAX_SIEVE_LIMIT = 1 << 26;
+
+        private static final class Snapshot {
+            final long[] bits;
+            final int limit;
+            Snapshot(long[] bits, int limit) {
+                this.bits = bits;
+                this.limit = limit;
+            }
+        }
+
+        private static volatile Snapshot snapshot = new Snapshot(new long[0], 0);
+
+        private PrimeSieve() {
+        }
+
+        public static boolean isPrime(int n) {
+            if (n < 2) return false;
+            Snapshot s = snapshot;
+            if (n >= s.limit) {
+                if (n >= MAX_SIEVE_LIMIT) return millerRabin(n);
+                s = grow(n + 1);
+            }
+            return (s.bits[n >>> 6] & (1L << n)) != 0;
+        }
+
+        public static IntStream primes(IntStream numbers) {
+            return numbers.filter(PrimeSieve::isPrime);
+        }
+
+        // Makes sure every n < limit (capped at 2^26) is answered from the sieve.
+        public static void ensureLimit(int limit) {
+            grow(limit);
+        }
+
+        private static synchronized Snapshot grow(int limit) {
+            Snapshot s = snapshot;
+            if (limit <= s.limit || s.limit == MAX_SIEVE_LIMIT) return s;
+            long wanted = Math.max(limit, Math.max(2L * s.limit, 1 << 16));
+            int newLimit = (int) Math.min(MAX_SIEVE_LIMIT, (wanted + 63) & ~63L);
+            snapshot = s = new Snapshot(sieve(newLimit), newLimit);
+            return s;
+        }
+
+        private static long[] sieve(int limit) {
+            int[] basePrimes = simpleSieve((int) Math.sqrt(limit) + 1);
+            long[] bits = new long[limit >>> 6];
+            int segments = (limit + SEGMENT_BITS - 1) / SEGMENT_BITS;
+            IntStream.range(0, segments).parallel().forEach(segment -> {
+                int lo = segment * SEGMENT_BITS;
+                int hi = Math.min(lo + SEGMENT_BITS, limit);
+                Arrays.fill(bits, lo >>> 6, hi >>> 6, -1L);
+                for (int p : basePrimes) {
+                    long square = (long) p * p;
+                    if (square >= hi) break;
+                    long start = Math.max(square, (lo + p - 1L) / p * p);
+                    for (long m = start; m < hi; m += p) {
+                        bits[(int) (m >>> 6)] &= ~(1L << m);
+                    }
+                }
+            });
+            bits[0] &= ~0b11L;  // 0 and 1 are not prime
+            return bits;
+        }
+
+        private static int[] simpleSieve(int limit) {
+            boolean[] composite = new boolean[limit + 1];
+            for (int i = 2; (long) i * i <= limit; i++) {
+                if (!composite[i]) {
+                    for (int j = i * i; j <= limit; j += i) composite[j] = true;
+                }
+            }
+            return IntStream.rangeClosed(2, limit).filter(i -> !composite[i]).toArray();
+        }
+
+        private static boolean millerRabin(int n) {
+            if (n % 2 == 0) return n == 2;
+            int d = n - 1, r = 0;
+            while ((d & 1) == 0) {
+                d >>= 1;
+                r++;
+            }
+            for (int a : new int[] {2, 7, 61}) {
+                if (a % n == 0) continue;
+                long x = powMod(a, d, n);
+                if (x == 1 || x == n - 1) continue;
+                boolean composite = true;
+                for (int i = 1; i < r && composite; i++) {
+                    x = x * x % n;
+                    if (x == n - 1) composite = false;
+                }
+                if (composite) return false;
+            }
+            return true;
+        }
+
+        private static long powMod(long base, long exponent, long mod) {
+            long result = 1;
+            base %= mod;
+            while (exponent > 0) {
+                if ((exponent & 1) == 1) result = result * base % mod;
+                base = base * base % mod;
+                exponent >>= 1;
+            }
+            return result;
+        }
+    }
+
     public static void main(String[] args) {
         List<Integer> nums = Arrays.asList(1, 2, 3, 4, 5, 11, 13, 17, 20);
         List<String> words = Arrays.asList("apple", "", null, "banana", "cherry", "avocado");
@@ -143,5 +414,9 @@ public class Filter_Example {
         filterEmployeesByNameStart(employees, 'A');
         filterEmployeesBySalaryBand(employees, "Medium");
         filterEmployeesByAgeAndDept(employees);
+        filterPrimesSieve(nums);
+        countPrimesInRange(0, 100);
+        countPrimesInRange(0, 1_000_000);
+        filterWithAdaptiveOrder(20_000);
     }
 } 
\ No newline at end of file
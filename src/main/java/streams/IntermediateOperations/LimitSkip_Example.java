@@ -1,8 +1,16 @@
 package src.main.java.streams.IntermediateOperations;
 
 import java.util.List;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
 
 /**
  * Practice Problems for limit() and skip():
@@ -11,6 +19,10 @@ import java.util.Arrays;
  * 3. Advanced: Paginate a list using skip and limit.
  * 4. Custom: Get the top 2 highest paid employees.
  * 5. Custom: Skip the first employee in each department (grouped by department).
+ * 6. Advanced: Get the top 2 highest paid employees without sorting the whole list (bounded top-K).
+ * 7. Advanced: Get the 2 youngest employees in parallel (bounded bottom-K on a primitive key).
+ * 8. Advanced: Paginate employees by salary without sorting the whole list (partial sort).
+ * 9. Advanced: Fetch a deep page of a large sorted list in parallel.
  */
 public class LimitSkip_Example {
     public static class Employee {
@@ -74,6 +86,353 @@ public class LimitSkip_Example {
         System.out.println("Output (skipped first in each dept): " + result);
     }
 
+    // 6. Advanced: Get the top 2 highest paid employees without sorting the whole list.
+    public static void topTwoHighestPaidBounded(List<Employee> employees) {
+        System.out.println("Input: " + employees);
+        List<Employee> result = employees.stream()
+                .collect(topKByDouble(2, e -> e.salary));
+        System.out.println("Output (top 2 highest paid, bounded heap): " + result);
+    }
+
+    // 7. Advanced: Get the 2 youngest employees in parallel.
+    public static void twoYoungestParallel(List<Employee> employees) {
+        System.out.println("Input: " + employees);
+        List<Employee> result = employees.parallelStream()
+                .collect(bottomKByInt(2, e -> e.age));
+        System.out.println("Output (2 youngest, bounded heap): " + result);
+    }
+
+    // 8. Advanced: Paginate employees by salary without sorting the whole list.
+    public static void paginateBySalary(List<Employee> employees, int page, int pageSize) {
+        System.out.println("Input: " + employees);
+        List<Employee> result = employees.stream()
+                .collect(sortedPage(Comparator.comparingDouble((Employee e) -> e.salary),
+                        (long) (page - 1) * pageSize, pageSize));
+        System.out.println("Output (page " + page + ", size " + pageSize + ", by salary): " + result);
+    }
+
+    // 9. Advanced: Fetch a deep page of a large sorted list in parallel.
+    public static void deepPageParallel(int size, int page, int pageSize) {
+        Random random = new Random(11);  // Seeded, so the page is the same on every run
+        List<Integer> numbers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) numbers.add(random.nextInt(size / 2 + 1));
+        System.out.println("Input: " + numbers.size() + " numbers");
+        long skip = (long) (page - 1) * pageSize;
+        List<Integer> result = numbers.parallelStream()
+                .collect(sortedPage(Comparator.<Integer>naturalOrder(), skip, pageSize));
+        List<Integer> viaSort = numbers.parallelStream()
+                .sorted().skip(skip).limit(pageSize)
+                .collect(Collectors.toList());
+        System.out.println("Output (page " + page + ", size " + pageSize + "): " + result);
+        System.out.println("Same as sorted().skip().limit(): " + viaSort.equals(result));
+    }
+
+    /**
+     * Same result as sorted(comparator).skip(skip).limit(limit), including the stable order
+     * of ties, without sorting everything. Only the first m = skip + limit elements matter, so
+     * each partial result keeps a buffer of up to 2m elements; when it fills, introselect
+     * moves the m smallest to the front in O(m) and the rest is dropped. The m-th smallest
+     * then acts as a cutoff that rejects later elements with one compare. Parallel partial
+     * results are concatenated in encounter order and trimmed the same way. Only the final
+     * m elements get sorted: O(n + m log m) time, O(m) memory per thread.
+     */
+    public static <T> Collector<T, ?, List<T>> sortedPage(Comparator<? super T> comparator, long skip, long limit) {
+        if (skip < 0 || limit < 0) throw new IllegalArgumentException("skip and limit must be >= 0");
+        long m = skip + limit;
+        if (m < 0 || m > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("skip + limit too large for a partial sort: " + skip + " + " + limit);
+        }
+        int keep = (int) m;
+        return Collector.of(
+                () -> new PageBuffer<T>(comparator, keep),
+                PageBuffer::add,
+                PageBuffer::append,
+                buffer -> buffer.page((int) skip));
+    }
+
+    /*
+     * Elements are ranked by (comparator, encounter sequence), which is a strict total order,
+     * so selection never sees equal keys and ties come out in encounter order.
+     */
+    static final class PageBuffer<T> {
+        private final Comparator<? super T> comparator;
+        private final int keep;
+        private Object[] items;
+        private long[] seq;
+        private int size;
+        private long nextSeq;
+        private T cutoff;          // m-th smallest seen so far; anything not better is dropped
+        private boolean hasCutoff;
+
+        PageBuffer(Comparator<? super T> comparator, int keep) {
+            this.comparator = comparator;
+            this.keep = keep;
+            int capacity = (int) Math.min(16, 2L * keep);
+            this.items = new Object[capacity];
+            this.seq = new long[capacity];
+        }
+
+        void add(T t) {
+            offer(t, nextSeq++);
+        }
+
+        // Appends a partial result that comes later in encounter order.
+        @SuppressWarnings("unchecked")
+        PageBuffer<T> append(PageBuffer<T> right) {
+            for (int i = 0; i < right.size; i++) offer((T) right.items[i], nextSeq + right.seq[i]);
+            nextSeq += right.nextSeq;
+            return this;
+        }
+
+        private void offer(T t, long s) {
+            if (keep == 0 || (hasCutoff && comparator.compare(t, cutoff) >= 0)) return;
+            if (size == items.length) {
+                if (size >= 2L * keep) {
+                    trim();
+                    if (comparator.compare(t, cutoff) >= 0) return;
+                } else {
+                    int capacity = (int) Math.min(2L * keep, 2L * items.length);
+                    items = Arrays.copyOf(items, capacity);
+                    seq = Arrays.copyOf(seq, capacity);
+                }
+            }
+            items[size] = t;
+            seq[size++] = s;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void trim() {
+            select(keep - 1);
+            size = keep;
+            cutoff = (T) items[keep - 1];
+            hasCutoff = true;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> page(int skip) {
+            if (size > keep) select(keep - 1);
+            int n = Math.min(size, keep);
+            sortRange(0, n);
+            List<T> result = new ArrayList<>(Math.max(0, n - skip));
+            for (int i = skip; i < n; i++) result.add((T) items[i]);
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private int compare(int i, int j) {
+            int cmp = comparator.compare((T) items[i], (T) items[j]);
+            return cmp != 0 ? cmp : Long.compare(seq[i], seq[j]);
+        }
+
+        /*
+         * Introselect: quickselect with median-of-three pivots that falls back to sorting
+         * the remaining range once it has partitioned 2 log2(n) times without finishing.
+         */
+        private void select(int target) {
+            int lo = 0, hi = size - 1;
+            int depth = 2 * (32 - Integer.numberOfLeadingZeros(size));
+            while (hi > lo) {
+                if (depth-- == 0) {
+                    sortRange(lo, hi + 1);
+                    return;
+                }
+                int mid = (lo + hi) >>> 1;
+                if (compare(mid, lo) < 0) swap(mid, lo);
+                if (compare(hi, lo) < 0) swap(hi, lo);
+                if (compare(hi, mid) < 0) swap(hi, mid);
+                swap(mid, hi);
+                int store = lo;
+                for (int i = lo; i < hi; i++) {
+                    if (compare(i, hi) < 0) swap(i, store++);
+                }
+                swap(store, hi);
+                if (store == target) return;
+                if (store < target) lo = store + 1;
+                else hi = store - 1;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void sortRange(int from, int to) {
+            Integer[] order = new Integer[to - from];
+            for (int i = 0; i < order.length; i++) order[i] = from + i;
+            Arrays.sort(order, this::compare);
+            Object[] sortedItems = new Object[order.length];
+            long[] sortedSeq = new long[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedItems[i] = items[order[i]];
+                sortedSeq[i] = seq[order[i]];
+            }
+            System.arraycopy(sortedItems, 0, items, from, order.length);
+            System.arraycopy(sortedSeq, 0, seq, from, order.length);
+        }
+
+        private void swap(int a, int b) {
+            Object o = items[a]; items[a] = items[b]; items[b] = o;
+            long s = seq[a]; seq[a] = seq[b]; seq[b] = s;
+        }
+    }
+
+    /*
+     * sorted(cmp).limit(k) sorts all n elements to keep k of them: O(n log n) time, O(n) memory.
+     * These collectors keep at most k elements per thread in a min-heap whose root is the
+     * weakest kept element, so each new element is one compare (plus O(log k) if it gets in).
+     * Parallel splits build their own heaps, which the combiner merges. O(n log k) time, O(k) memory.
+     * Results are best-first. Ties at the boundary are broken arbitrarily.
+     */
+
+    // Largest k elements by comparator.
+    public static <T> Collector<T, ?, List<T>> topK(int k, Comparator<? super T> comparator) {
+        return Collector.of(
+                () -> new PriorityQueue<T>(comparator),
+                (heap, t) -> offerBounded(heap, t, k, comparator),
+                (left, right) -> {
+                    right.forEach(t -> offerBounded(left, t, k, comparator));
+                    return left;
+                },
+                heap -> {
+                    List<T> result = new ArrayList<>(heap);
+                    result.sort(Collections.reverseOrder(comparator));
+                    return result;
+                });
+    }
+
+    // Smallest k elements by comparator.
+    public static <T> Collector<T, ?, List<T>> bottomK(int k, Comparator<? super T> comparator) {
+        return topK(k, Collections.reverseOrder(comparator));
+    }
+
+    private static <T> void offerBounded(PriorityQueue<T> heap, T t, int k, Comparator<? super T> comparator) {
+        if (heap.size() < k) {
+            heap.add(t);
+        } else if (k > 0 && comparator.compare(t, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(t);
+        }
+    }
+
+    // Largest k elements by a double key (e.g. salary); keys are compared as primitives.
+    public static <T> Collector<T, ?, List<T>> topKByDouble(int k, ToDoubleFunction<? super T> key) {
+        return byDouble(k, key, false);
+    }
+
+    // Smallest k elements by a double key, in Double.compare order (NaN ranks last, as in sorted()).
+    public static <T> Collector<T, ?, List<T>> bottomKByDouble(int k, ToDoubleFunction<? super T> key) {
+        return byDouble(k, key, true);
+    }
+
+    private static <T> Collector<T, ?, List<T>> byDouble(int k, ToDoubleFunction<? super T> key, boolean keepSmallest) {
+        return Collector.of(
+                () -> new DoubleKeyHeap<T>(k, keepSmallest),
+                (heap, t) -> heap.offer(key.applyAsDouble(t), t),
+                DoubleKeyHeap::merge,
+                DoubleKeyHeap::drainBestFirst);
+    }
+
+    // int keys (e.g. age) are exact as doubles, so they share the double-keyed heap.
+    public static <T> Collector<T, ?, List<T>> topKByInt(int k, ToIntFunction<? super T> key) {
+        return topKByDouble(k, key::applyAsInt);
+    }
+
+    public static <T> Collector<T, ?, List<T>> bottomKByInt(int k, ToIntFunction<? super T> key) {
+        return bottomKByDouble(k, key::applyAsInt);
+    }
+
+    /**
+     * Fixed-capacity binary heap over parallel arrays: a double[] of keys and an
+     * Object[] of elements. No boxing of keys and no Comparator call per element.
+     * The root is the weakest kept element: the smallest key when keeping the largest,
+     * the largest when keeping the smallest. Keys are ordered by Double.compare in both
+     * modes (never negated), so NaN is always the largest key.
+     */
+    public static class DoubleKeyHeap<T> {
+        private final int capacity;
+        private final boolean keepSmallest;
+        private final double[] keys;
+        private final Object[] items;
+        private int size;
+
+        public DoubleKeyHeap(int capacity) {
+            this(capacity, false);
+        }
+
+        public DoubleKeyHeap(int capacity, boolean keepSmallest) {
+            if (capacity < 0) throw new IllegalArgumentException("k must be >= 0: " + capacity);
+            this.capacity = capacity;
+            this.keepSmallest = keepSmallest;
+            this.keys = new double[capacity];
+            this.items = new Object[capacity];
+        }
+
+        public void offer(double key, T item) {
+            if (size < capacity) {
+                keys[size] = key;
+                items[size] = item;
+                siftUp(size++);
+            } else if (capacity > 0 && compare(key, keys[0]) > 0) {
+                keys[0] = key;
+                items[0] = item;
+                siftDown(0);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        public DoubleKeyHeap<T> merge(DoubleKeyHeap<T> other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.keys[i], (T) other.items[i]);
+            }
+            return this;
+        }
+
+        // Pops the weakest element into the last free slot until empty, leaving the best first.
+        @SuppressWarnings("unchecked")
+        public List<T> drainBestFirst() {
+            Object[] out = new Object[size];
+            while (size > 0) {
+                out[size - 1] = items[0];
+                size--;
+                keys[0] = keys[size];
+                items[0] = items[size];
+                items[size] = null;
+                siftDown(0);
+            }
+            List<T> result = new ArrayList<>(out.length);
+            for (Object o : out) result.add((T) o);
+            return result;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (compare(keys[i], keys[parent]) >= 0) break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) break;
+                int right = left + 1;
+                int smallest = right < size && compare(keys[right], keys[left]) < 0 ? right : left;
+                if (compare(keys[i], keys[smallest]) <= 0) break;
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        // Positive when a is better than b.
+        private int compare(double a, double b) {
+            return keepSmallest ? Double.compare(b, a) : Double.compare(a, b);
+        }
+
+        private void swap(int a, int b) {
+            double k = keys[a]; keys[a] = keys[b]; keys[b] = k;
+            Object o = items[a]; items[a] = items[b]; items[b] = o;
+        }
+    }
+
     public static void main(String[] args) {
         List<Integer> nums = Arrays.asList(1, 2, 3, 4, 5, 6, 7);
         List<String> words = Arrays.asList("apple", "banana", "cherry", "date", "elderberry");
@@ -90,5 +449,9 @@ public class LimitSkip_Example {
         paginate(nums, 2, 3);
         topTwoHighestPaid(employees);
         skipFirstInEachDepartment(employees);
+        topTwoHighestPaidBounded(employees);
+        twoYoungestParallel(employees);
+        paginateBySalary(employees, 2, 2);
+        deepPageParallel(10_000, 51, 20);
     }
 } 
\ No newline at end of file
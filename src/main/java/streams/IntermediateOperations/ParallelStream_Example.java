@@ -91,6 +91,7 @@ import java.util.stream.IntStream;
  * 12. Real-world parallel processing examples
  * 13. Debugging parallel stream issues
  * 14. Best practices and optimization tips
+ * 15. Deterministic (bit-reproducible) parallel floating-point reduction
  */
 public class ParallelStream_Example {
     
@@ -480,7 +481,72 @@ public class ParallelStream_Example {
     }
 
     // ============================================================================
-    // 4. COMPREHENSIVE PARALLEL PROCESSING DEMONSTRATION
+    // 4. DETERMINISTIC PARALLEL REDUCTION
+    // ============================================================================
+
+    // Block size is fixed, NOT derived from the pool size, so the reduction tree
+    // has the same shape no matter how many threads run it.
+    private static final int REDUCTION_BLOCK_SIZE = 4096;
+
+    /**
+     * Deterministic parallel floating-point sum
+     * Use case: Reconciliation checks that need bit-identical totals on every machine
+     * Why not reduce()/sum(): Floating-point addition is not associative, so the
+     * result depends on how the ForkJoinPool happened to split the input
+     */
+    public static void deterministicParallelReduction(List<Double> salaries) {
+        System.out.println("\n=== DETERMINISTIC PARALLEL REDUCTION ===");
+        System.out.println("Input size: " + salaries.size());
+
+        double[] values = salaries.stream().mapToDouble(Double::doubleValue).toArray();
+
+        for (int parallelism : new int[] {1, 2, 4, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+            double reduceSum = pool.submit(() ->
+                salaries.parallelStream().reduce(0.0, Double::sum)).join();
+            double fixedShapeSum = pool.submit(() -> deterministicSum(values)).join();
+
+            System.out.printf("Parallelism: %d | reduce(): %.10f | deterministicSum(): %.10f%n",
+                            parallelism, reduceSum, fixedShapeSum);
+            pool.shutdown();
+        }
+
+        System.out.println("Why deterministic: Fixed-size blocks + fixed pairwise combine order");
+        System.out.println("Internal working: Only the blocks run in parallel; the tree shape never changes");
+    }
+
+    /**
+     * Sums the values with a reduction tree whose shape depends only on the input length.
+     * Fixed-size blocks are summed left to right (blocks in parallel), then the block
+     * sums are combined pairwise in index order.
+     */
+    public static double deterministicSum(double[] values) {
+        int blocks = (values.length + REDUCTION_BLOCK_SIZE - 1) / REDUCTION_BLOCK_SIZE;
+        double[] partials = new double[blocks];
+
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            int from = b * REDUCTION_BLOCK_SIZE;
+            int to = Math.min(from + REDUCTION_BLOCK_SIZE, values.length);
+            double sum = 0.0;
+            for (int i = from; i < to; i++) {
+                sum += values[i];
+            }
+            partials[b] = sum;  // Each block writes only its own slot
+        });
+
+        return pairwiseSum(partials, 0, blocks);
+    }
+
+    private static double pairwiseSum(double[] partials, int from, int to) {
+        if (to - from == 0) return 0.0;
+        if (to - from == 1) return partials[from];
+        int mid = (from + to) >>> 1;
+        return pairwiseSum(partials, from, mid) + pairwiseSum(partials, mid, to);
+    }
+
+    // ============================================================================
+    // 5. COMPREHENSIVE PARALLEL PROCESSING DEMONSTRATION
     // ============================================================================
     
     public static void comprehensiveParallelDemo() {
@@ -530,6 +596,14 @@ public class ParallelStream_Example {
         // 5. Best practices
         System.out.println("\n5. BEST PRACTICES:");
         bestPractices();
+
+        // 6. Deterministic reduction
+        System.out.println("\n6. DETERMINISTIC REDUCTION:");
+        Random random = new Random(42);
+        List<Double> salaries = random.doubles(1_000_000, 30000, 150000)
+                .boxed()
+                .collect(Collectors.toList());
+        deterministicParallelReduction(salaries);
     }
 
     public static void main(String[] args) {
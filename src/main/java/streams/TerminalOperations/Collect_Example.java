@@ -3,9 +3,13 @@ package src.main.java.streams.TerminalOperations;
 import java.util.List;
 import java.util.Set;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.Random;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.Arrays;
-import java.util.stream.Collectors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Practice Problems for collect():
@@ -15,6 +19,8 @@ import java.util.stream.Collectors;
  * 4. Group a list of strings by their length.
  * 5. Advanced: Group a list of Employee objects by department.
  * 6. Advanced: Partition employees by salary > 75000.
+ * 7. Advanced: Salary percentiles (p50/p95/p99) per department with a quantile sketch.
+ * 8. Advanced: Latency percentiles over a large parallel stream with bounded memory.
  */
 public class Collect_Example {
     public static class Employee {
@@ -79,6 +85,167 @@ public class Collect_Example {
         System.out.println("Output (partitioned by salary > 75000): " + result);
     }
 
+    // 7. Advanced: Salary percentiles (p50/p95/p99) per department with a quantile sketch.
+    public static void salaryPercentilesByDepartment(List<Employee> employees) {
+        System.out.println("Input: " + employees);
+        Map<String, KllSketch> sketches = employees.stream()
+                .collect(Collectors.groupingBy(e -> e.department, TreeMap::new,
+                        quantileSketch(e -> e.salary, 200)));
+        sketches.forEach((dept, sketch) -> System.out.println("Output (" + dept + "): p50=" + sketch.quantile(0.50)
+                + ", p95=" + sketch.quantile(0.95) + ", p99=" + sketch.quantile(0.99)));
+    }
+
+    // 8. Advanced: Latency percentiles over a large parallel stream with bounded memory.
+    public static void latencyPercentiles(int size) {
+        // Seeded exponential latencies with a 20 ms mean: a long right tail, like real ones.
+        double[] latencies = new Random(42).doubles(size).map(u -> -20.0 * Math.log(1.0 - u)).toArray();
+        System.out.println("Input: " + latencies.length + " latencies");
+        KllSketch sketch = Arrays.stream(latencies).parallel().boxed()
+                .collect(quantileSketch(Double::doubleValue, 200));
+        double[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        for (double q : new double[] {0.50, 0.95, 0.99}) {
+            double exact = sorted[(int) Math.min(sorted.length - 1, Math.ceil(q * sorted.length) - 1)];
+            System.out.printf("Output (p%.0f): sketch=%.2f exact=%.2f%n", q * 100, sketch.quantile(q), exact);
+        }
+        System.out.println("Sketch retains " + sketch.retained() + " of " + sketch.count() + " values");
+    }
+
+    /**
+     * Mergeable quantile-sketch collector (KLL). Memory stays around 3k values no matter how
+     * many elements are collected; the rank error shrinks as k grows (k=200 is roughly 1%).
+     * Works as a downstream collector, e.g. groupingBy(dept, quantileSketch(e -> e.salary, 200)).
+     */
+    public static <T> Collector<T, KllSketch, KllSketch> quantileSketch(ToDoubleFunction<? super T> value, int k) {
+        return Collector.of(
+                () -> new KllSketch(k),
+                (sketch, t) -> sketch.add(value.applyAsDouble(t)),
+                KllSketch::merge,
+                Collector.Characteristics.UNORDERED,
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * KLL sketch: a stack of compactors. Level h holds values of weight 2^h. When a level
+     * overflows it is sorted and every other value (random odd/even offset) moves up one
+     * level with double weight, so the total weight always equals the number of values added.
+     * Higher levels get capacity k, lower levels shrink geometrically by 2/3.
+     */
+    public static class KllSketch {
+        private final int k;
+        private double[][] levels = { new double[8] };
+        private int[] sizes = { 0 };
+        private int retained;
+        private long count;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        public KllSketch(int k) {
+            if (k < 8) throw new IllegalArgumentException("k must be >= 8: " + k);
+            this.k = k;
+        }
+
+        public void add(double value) {
+            count++;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            append(0, value);
+            if (retained >= totalCapacity()) compress();
+        }
+
+        public KllSketch merge(KllSketch other) {
+            for (int h = 0; h < other.levels.length; h++) {
+                while (h >= levels.length) addLevel();
+                for (int i = 0; i < other.sizes[h]; i++) append(h, other.levels[h][i]);
+            }
+            count += other.count;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            compress();
+            return this;
+        }
+
+        // Value at rank q (0.0 = min, 1.0 = max); NaN when empty.
+        public double quantile(double q) {
+            if (q < 0.0 || q > 1.0) throw new IllegalArgumentException("q must be in [0, 1]: " + q);
+            if (count == 0) return Double.NaN;
+            if (q == 0.0) return min;
+            if (q == 1.0) return max;
+            int n = retained();
+            double[] values = new double[n];
+            long[] weights = new long[n];
+            int j = 0;
+            for (int h = 0; h < levels.length; h++) {
+                for (int i = 0; i < sizes[h]; i++, j++) {
+                    values[j] = levels[h][i];
+                    weights[j] = 1L << h;
+                }
+            }
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+            double target = q * count;
+            long cumulative = 0;
+            for (int i : order) {
+                cumulative += weights[i];
+                if (cumulative >= target) return values[i];
+            }
+            return max;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public int retained() {
+            return retained;
+        }
+
+        private int capacity(int h) {
+            int depth = levels.length - 1 - h;
+            return Math.max(2, (int) Math.ceil(k * Math.pow(2.0 / 3.0, depth)));
+        }
+
+        private int totalCapacity() {
+            int total = 0;
+            for (int h = 0; h < levels.length; h++) total += capacity(h);
+            return total;
+        }
+
+        // Lazy compaction: only when the sketch as a whole is full, and only the lowest full level.
+        private void compress() {
+            while (retained >= totalCapacity()) {
+                int h = 0;
+                while (sizes[h] < capacity(h)) h++;
+                compact(h);
+            }
+        }
+
+        private void compact(int h) {
+            if (h + 1 == levels.length) addLevel();
+            double[] level = levels[h];
+            int size = sizes[h];
+            Arrays.sort(level, 0, size);
+            int kept = size & 1;  // An odd value out stays at this level
+            int offset = ThreadLocalRandom.current().nextBoolean() ? 1 : 0;
+            for (int i = kept + offset; i < size; i += 2) append(h + 1, level[i]);
+            retained -= size - kept;
+            sizes[h] = kept;
+        }
+
+        private void append(int h, double value) {
+            if (sizes[h] == levels[h].length) levels[h] = Arrays.copyOf(levels[h], levels[h].length * 2);
+            levels[h][sizes[h]++] = value;
+            retained++;
+        }
+
+        private void addLevel() {
+            levels = Arrays.copyOf(levels, levels.length + 1);
+            levels[levels.length - 1] = new double[8];
+            sizes = Arrays.copyOf(sizes, sizes.length + 1);
+        }
+    }
+
     public static void main(String[] args) {
         List<Integer> nums = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8);
         List<String> words = Arrays.asList("apple", "banana", "cherry", "date");
@@ -94,5 +261,7 @@ public class Collect_Example {
         groupByLength(words);
         groupEmployeesByDepartment(employees);
         partitionEmployeesBySalary(employees);
+        salaryPercentilesByDepartment(employees);
+        latencyPercentiles(100_000);
     }
 } 
\ No newline at end of file
@@ -2,6 +2,14 @@ package src.main.java.streams.TerminalOperations;
 
 import java.util.List;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.function.DoublePredicate;
+import java.util.function.Function;
 
 /**
  * Practice Problems for count():
@@ -10,6 +18,10 @@ import java.util.Arrays;
  * 3. Custom: Count the number of employees in Engineering.
  * 4. Custom: Count the number of employees with salary > 75000.
  * 5. Custom: Count the number of unique departments.
+ * 6. Advanced: Estimate the number of unique departments with HyperLogLog.
+ * 7. Advanced: Estimate unique IDs in a large parallel event stream and merge serialized sketches.
+ * 8. Advanced: Count without traversal when the stream size is already known.
+ * 9. Advanced: Count employees per department from a dictionary-encoded index instead of scanning.
  */
 public class Count_Example {
     public static class Employee {
@@ -63,6 +75,245 @@ public class Count_Example {
         System.out.println("Output (unique departments): " + count);
     }
 
+    // 6. Advanced: Estimate the number of unique departments with HyperLogLog.
+    public static void estimateUniqueDepartments(List<Employee> employees) {
+        System.out.println("Input: " + employees);
+        long estimate = employees.stream().collect(approximateDistinct(e -> e.department, 14)).estimate();
+        System.out.println("Output (approx. unique departments): " + estimate);
+    }
+
+    // 7. Advanced: Estimate unique IDs in a large parallel event stream and merge serialized sketches.
+    public static void estimateUniqueEventIds(int events, int distinctIds) {
+        System.out.println("Input: " + events + " events over " + distinctIds + " distinct IDs");
+        HyperLogLog firstHalf = IntStream.range(0, events / 2).parallel()
+                .mapToObj(i -> "user-" + (i % distinctIds))
+                .collect(approximateDistinct(Function.identity(), 14));
+        HyperLogLog secondHalf = IntStream.range(events / 2, events).parallel()
+                .mapToObj(i -> "user-" + (i % distinctIds))
+                .collect(approximateDistinct(Function.identity(), 14));
+        // e.g. yesterday's sketch stored as bytes, merged with today's.
+        byte[] stored = firstHalf.toBytes();
+        HyperLogLog merged = HyperLogLog.fromBytes(stored).merge(secondHalf);
+        System.out.println("Output (approx. unique IDs): " + merged.estimate()
+                + " using " + stored.length + " bytes per sketch");
+    }
+
+    // 8. Advanced: Count without traversal when the stream size is already known.
+    public static void countFromMetadata(List<?> elements) {
+        System.out.println("Input: " + elements);
+        CountResult sized = countFast(elements.stream().map(String::valueOf));
+        CountResult filtered = countFast(elements.stream().filter(e -> e.hashCode() % 2 == 0));
+        System.out.println("Output (map then count): " + sized);
+        System.out.println("Output (filter then count): " + filtered);
+    }
+
+    // 9. Advanced: Count employees per department from a dictionary-encoded index instead of scanning.
+    public static void countWithIndex(List<Employee> employees) {
+        System.out.println("Input: " + employees);
+        EmployeeTable table = new EmployeeTable(employees);
+        System.out.println("Output (all employees): " + table.count());
+        System.out.println("Output (Engineering employees): " + table.countWhereDepartment("Engineering"));
+        System.out.println("Output (salary > 75000): " + table.countWhereSalary(s -> s > 75000));
+    }
+
+    // How a count was answered, cheapest first.
+    public enum CountPath { SIZED_METADATA, DICTIONARY_INDEX, COLUMN_SCAN, TRAVERSAL }
+
+    public static class CountResult {
+        public final long count;
+        public final CountPath path;
+        public CountResult(long count, CountPath path) {
+            this.count = count;
+            this.path = path;
+        }
+        public String toString() {
+            return count + " via " + path;
+        }
+    }
+
+    /**
+     * count() that reports whether it had to walk the elements. A pipeline made only of
+     * size-preserving stages (map, sorted, peek, ...) over a SIZED source keeps the SIZED flag,
+     * so its exact size is read from the spliterator. filter/flatMap clear the flag and force traversal.
+     */
+    public static CountResult countFast(Stream<?> stream) {
+        Spliterator<?> spliterator = stream.spliterator();
+        long size = spliterator.getExactSizeIfKnown();
+        if (size >= 0) {
+            return new CountResult(size, CountPath.SIZED_METADATA);
+        }
+        long[] count = {0};
+        spliterator.forEachRemaining(e -> count[0]++);
+        return new CountResult(count[0], CountPath.TRAVERSAL);
+    }
+
+    /**
+     * Column snapshot of an employee list. Departments are dictionary-encoded (each distinct
+     * name gets an int code) and the number of rows per code is kept, so equality counts on
+     * department are a lookup. Numeric predicates scan a primitive double[] column with no
+     * object dereference per row.
+     */
+    public static class EmployeeTable {
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final int[] departmentCodes;
+        private final long[] rowsPerCode;
+        private final double[] salaries;
+
+        public EmployeeTable(List<Employee> employees) {
+            int n = employees.size();
+            departmentCodes = new int[n];
+            salaries = new double[n];
+            for (int i = 0; i < n; i++) {
+                Employee e = employees.get(i);
+                departmentCodes[i] = dictionary.computeIfAbsent(e.department, d -> dictionary.size());
+                salaries[i] = e.salary;
+            }
+            rowsPerCode = new long[dictionary.size()];
+            for (int code : departmentCodes) rowsPerCode[code]++;
+        }
+
+        public CountResult count() {
+            return new CountResult(salaries.length, CountPath.SIZED_METADATA);
+        }
+
+        public CountResult countWhereDepartment(String department) {
+            Integer code = dictionary.get(department);
+            return new CountResult(code == null ? 0 : rowsPerCode[code], CountPath.DICTIONARY_INDEX);
+        }
+
+        public CountResult countWhereSalary(DoublePredicate predicate) {
+            long count = 0;
+            for (double salary : salaries) {
+                if (predicate.test(salary)) count++;
+            }
+            return new CountResult(count, CountPath.COLUMN_SCAN);
+        }
+    }
+
+    /**
+     * HyperLogLog collector for approximate distinct counts. Precision p uses 2^p one-byte
+     * registers (p=14 is 16 KB, ~0.8% standard error). Parallel splits merge register-wise.
+     */
+    public static <T> Collector<T, HyperLogLog, HyperLogLog> approximateDistinct(Function<? super T, ?> key, int precision) {
+        return Collector.of(
+                () -> new HyperLogLog(precision),
+                (hll, t) -> hll.add(key.apply(t)),
+                HyperLogLog::merge,
+                Collector.Characteristics.UNORDERED,
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * HyperLogLog over a 64-bit hash, with linear counting for small cardinalities. Strings
+     * are hashed with 64-bit FNV-1a over their chars and Integer/Long with their full value,
+     * both finished with MurmurHash3's fmix64; any other element is fmix64 of its 32-bit
+     * hashCode(), so those collide as often as hashCode() does.
+     * The top p bits of the hash pick a register; the register keeps the longest run of
+     * leading zeros (+1) seen in the remaining bits. The empirical bias-correction tables
+     * of HLL++ are not included, so mid-range estimates (around 2.5 * 2^p) are slightly less accurate.
+     */
+    public static class HyperLogLog {
+        private final int precision;
+        private final byte[] registers;
+
+        public HyperLogLog(int precision) {
+            if (precision < 4 || precision > 18) {
+                throw new IllegalArgumentException("precision must be in [4, 18]: " + precision);
+            }
+            this.precision = precision;
+            this.registers = new byte[1 << precision];
+        }
+
+        public void add(Object value) {
+            addHash(hash64(value));
+        }
+
+        public void addHash(long hash) {
+            int index = (int) (hash >>> (64 - precision));
+            long rest = (hash << precision) | (1L << (precision - 1));  // Guard bit caps the rank
+            byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+            if (rank > registers[index]) registers[index] = rank;
+        }
+
+        public HyperLogLog merge(HyperLogLog other) {
+            if (other.precision != precision) {
+                throw new IllegalArgumentException("Cannot merge precision " + other.precision + " into " + precision);
+            }
+            for (int i = 0; i < registers.length; i++) {
+                if (other.registers[i] > registers[i]) registers[i] = other.registers[i];
+            }
+            return this;
+        }
+
+        public long estimate() {
+            int m = registers.length;
+            double sum = 0.0;
+            int zeros = 0;
+            for (byte r : registers) {
+                sum += 1.0 / (1L << r);
+                if (r == 0) zeros++;
+            }
+            double alpha = 0.7213 / (1.0 + 1.079 / m);
+            double estimate = alpha * m * m / sum;
+            if (estimate <= 2.5 * m && zeros > 0) {
+                estimate = m * Math.log((double) m / zeros);  // Linear counting
+            }
+            return Math.round(estimate);
+        }
+
+        // Layout: one byte of precision followed by the registers.
+        public byte[] toBytes() {
+            byte[] bytes = new byte[registers.length + 1];
+            bytes[0] = (byte) precision;
+            System.arraycopy(registers, 0, bytes, 1, registers.length);
+            return bytes;
+        }
+
+        public static HyperLogLog fromBytes(byte[] bytes) {
+            if (bytes.length == 0) throw new IllegalArgumentException("Empty sketch: no precision byte");
+            HyperLogLog hll = new HyperLogLog(bytes[0]);
+            if (bytes.length != hll.registers.length + 1) {
+                throw new IllegalArgumentException("Expected " + (hll.registers.length + 1) + " bytes, got " + bytes.length);
+            }
+            int maxRank = 64 - hll.precision + 1;
+            for (int i = 1; i < bytes.length; i++) {
+                if (bytes[i] < 0 || bytes[i] > maxRank) {
+                    throw new IllegalArgumentException("Register " + (i - 1) + " out of range: " + bytes[i]);
+                }
+            }
+            System.arraycopy(bytes, 1, hll.registers, 0, hll.registers.length);
+            return hll;
+        }
+
+        // 64-bit hash where the value allows it: hashCode() alone is 32 bits and collides too
+        // often at 10^8+ distinct values. Other types fall back to mixing hashCode().
+        static long hash64(Object value) {
+            if (value == null) return mix64(0);
+            if (value instanceof String) {
+                String s = (String) value;
+                long h = 0xcbf29ce484222325L;
+                for (int i = 0; i < s.length(); i++) {
+                    h = (h ^ s.charAt(i)) * 0x100000001b3L;
+                }
+                return mix64(h);
+            }
+            if (value instanceof Long || value instanceof Integer) {
+                return mix64(((Number) value).longValue());
+            }
+            return mix64(value.hashCode());
+        }
+
+        // MurmurHash3 fmix64 finalizer.
+        private static long mix64(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb93fe53ec2d3L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+
     public static void main(String[] args) {
         List<Integer> nums = Arrays.asList(1, 2, 3, 4, 5, 6, 7);
         List<String> words = Arrays.asList("apple", "banana", "cherry", "date", "elderberry");
@@ -79,5 +330,9 @@ public class Count_Example {
         countEngineeringEmployees(employees);
         countHighSalaryEmployees(employees);
         countUniqueDepartments(employees);
+        estimateUniqueDepartments(employees);
+        estimateUniqueEventIds(20_000, 10_000);
+        countFromMetadata(nums);
+        countWithIndex(employees);
     }
 } 
\ No newline at end of file
@@ -2,7 +2,16 @@ package src.main.java.streams.TerminalOperations;
 
 import java.util.List;
 import java.util.Arrays;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
 
 /**
  * Practice Problems for anyMatch, allMatch, noneMatch, findFirst, findAny:
@@ -13,6 +22,10 @@ import java.util.Optional;
  * 5. Find any employee in Engineering (findAny).
  * 6. Custom: Check if all employees in a department have salary > 70000.
  * 7. Custom: Find the first employee with salary > 80000.
+ * 8. Advanced: Parallel anyMatch where every worker stops as soon as one finds a match.
+ * 9. Advanced: Parallel findFirst that cancels chunks to the right of the earliest match.
+ * 10. Advanced: Parallel allMatch that stops on the first counterexample.
+ * 11. Advanced: Reject "is this name present?" checks in O(1) with a Bloom filter before scanning.
  */
 public class MatchFind_Example {
     public static class Employee {
@@ -82,6 +95,240 @@ public class MatchFind_Example {
         System.out.println("First with salary > " + threshold + ": " + (result.isPresent() ? result.get() : "None"));
     }
 
+    // 8. Advanced: Parallel anyMatch where every worker stops as soon as one finds a match.
+    public static void anyEvenParallel(List<Integer> numbers) {
+        System.out.println("Input: " + numbers);
+        boolean result = CancellableSearch.anyMatch(numbers, n -> n % 2 == 0);
+        System.out.println("Any even? " + result);
+    }
+
+    // 9. Advanced: Parallel findFirst that cancels chunks to the right of the earliest match.
+    public static void findFirstSalaryAboveParallel(List<Employee> employees, double threshold) {
+        System.out.println("Input: " + employees);
+        Optional<Employee> result = CancellableSearch.findFirst(employees, e -> e.salary > threshold);
+        System.out.println("First with salary > " + threshold + ": " + (result.isPresent() ? result.get() : "None"));
+    }
+
+    // 10. Advanced: Parallel allMatch that stops on the first counterexample.
+    public static void allSalaryAboveParallel(List<Employee> employees, double threshold) {
+        System.out.println("Input: " + employees);
+        boolean result = CancellableSearch.allMatch(employees, e -> e.salary > threshold);
+        System.out.println("All have salary > " + threshold + "? " + result);
+    }
+
+    // 11. Advanced: Reject "is this name present?" checks in O(1) with a Bloom filter before scanning.
+    public static void nameExistsWithBloomFilter(List<Employee> employees, List<String> queries) {
+        System.out.println("Input: " + employees);
+        MembershipIndex<Employee> byName = new MembershipIndex<>(employees, e -> e.name, 0.01);
+        for (String name : queries) {
+            System.out.println("Any named " + name + "? " + byName.anyMatch(name)
+                    + (byName.mightContain(name) ? " (filter passed, scanned)" : " (rejected by filter, no scan)"));
+        }
+    }
+
+    /**
+     * A list plus a Bloom filter over one key of its elements. anyMatch(key) answers "no" from
+     * the filter without touching the list; only possible hits (true or false positives) scan.
+     * The filter is a snapshot: rebuild it after the list changes.
+     */
+    public static class MembershipIndex<T> {
+        private final List<T> elements;
+        private final Function<? super T, ?> key;
+        private final BloomFilter filter;
+
+        public MembershipIndex(List<T> elements, Function<? super T, ?> key, double falsePositiveRate) {
+            this.elements = elements;
+            this.key = key;
+            this.filter = elements.parallelStream()
+                    .map(key)
+                    .collect(BloomFilter.collector(elements.size(), falsePositiveRate));
+        }
+
+        public boolean mightContain(Object value) {
+            return filter.mightContain(value);
+        }
+
+        public boolean anyMatch(Object value) {
+            return filter.mightContain(value)
+                    && elements.stream().anyMatch(e -> Objects.equals(key.apply(e), value));
+        }
+    }
+
+    /**
+     * Bloom filter sized for an expected number of keys and a target false-positive rate:
+     * m = -n ln(p) / (ln 2)^2 bits and k = (m / n) ln 2 hash functions. The k bit positions
+     * come from one 64-bit hash split into two halves (h1 + i * h2). No false negatives.
+     */
+    public static class BloomFilter {
+        private final long[] bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        public BloomFilter(long expectedKeys, double falsePositiveRate) {
+            if (falsePositiveRate <= 0.0 || falsePositiveRate >= 1.0) {
+                throw new IllegalArgumentException("falsePositiveRate must be in (0, 1): " + falsePositiveRate);
+            }
+            long n = Math.max(1, expectedKeys);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = new long[(int) ((Math.max(64, m) + 63) / 64)];
+            this.bitCount = bits.length * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        }
+
+        // Builds per split and ORs the bit arrays together, so the build runs in parallel.
+        public static Collector<Object, BloomFilter, BloomFilter> collector(long expectedKeys, double falsePositiveRate) {
+            return Collector.of(
+                    () -> new BloomFilter(expectedKeys, falsePositiveRate),
+                    BloomFilter::add,
+                    BloomFilter::merge,
+                    Collector.Characteristics.UNORDERED,
+                    Collector.Characteristics.IDENTITY_FINISH);
+        }
+
+        public void add(Object value) {
+            long hash = hash64(value);
+            int h1 = (int) hash, h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+                bits[(int) (bit >>> 6)] |= 1L << bit;
+            }
+        }
+
+        public boolean mightContain(Object value) {
+            long hash = hash64(value);
+            int h1 = (int) hash, h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+                if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        public BloomFilter merge(BloomFilter other) {
+            if (other.bits.length != bits.length || other.hashCount != hashCount) {
+                throw new IllegalArgumentException("Bloom filters must have the same size and hash count");
+            }
+            for (int i = 0; i < bits.length; i++) bits[i] |= other.bits[i];
+            return this;
+        }
+
+        // hashCode() mixed with the MurmurHash3 fmix64 finalizer.
+        private static long hash64(Object value) {
+            long h = value == null ? 0 : value.hashCode();
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb93fe53ec2d3L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+
+    /**
+     * Short-circuiting searches over random-access lists with cooperative cancellation.
+     * The list is split into index ranges on the common ForkJoinPool. Workers share one
+     * "found" state and check it before every element, and pending ranges check it before
+     * they start, so once the answer is known nobody keeps scanning. Lists without
+     * RandomAccess (e.g. LinkedList, where get(i) is O(i)) fall back to a parallel stream,
+     * whose spliterator walks the list once instead of O(n^2).
+     */
+    public static class CancellableSearch {
+        private static final int LEAF_SIZE = 1024;
+
+        public static <T> boolean anyMatch(List<T> list, Predicate<? super T> predicate) {
+            if (!(list instanceof RandomAccess)) return list.stream().parallel().anyMatch(predicate);
+            AtomicBoolean found = new AtomicBoolean();
+            ForkJoinPool.commonPool().invoke(new AnyMatchTask<>(list, predicate, 0, list.size(), found));
+            return found.get();
+        }
+
+        public static <T> boolean allMatch(List<T> list, Predicate<? super T> predicate) {
+            return !anyMatch(list, predicate.negate());
+        }
+
+        public static <T> boolean noneMatch(List<T> list, Predicate<? super T> predicate) {
+            return !anyMatch(list, predicate);
+        }
+
+        // Earliest match wins: a match at index i cancels all work at indexes >= i.
+        public static <T> Optional<T> findFirst(List<T> list, Predicate<? super T> predicate) {
+            if (!(list instanceof RandomAccess)) return list.stream().parallel().filter(predicate).findFirst();
+            AtomicInteger earliest = new AtomicInteger(Integer.MAX_VALUE);
+            ForkJoinPool.commonPool().invoke(new FindFirstTask<>(list, predicate, 0, list.size(), earliest));
+            int index = earliest.get();
+            return index == Integer.MAX_VALUE ? Optional.empty() : Optional.of(list.get(index));
+        }
+
+        private static class AnyMatchTask<T> extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            private final List<T> list;
+            private final Predicate<? super T> predicate;
+            private final int from, to;
+            private final AtomicBoolean found;
+
+            AnyMatchTask(List<T> list, Predicate<? super T> predicate, int from, int to, AtomicBoolean found) {
+                this.list = list;
+                this.predicate = predicate;
+                this.from = from;
+                this.to = to;
+                this.found = found;
+            }
+
+            @Override
+            protected void compute() {
+                if (found.get()) return;
+                if (to - from <= LEAF_SIZE) {
+                    for (int i = from; i < to && !found.get(); i++) {
+                        if (predicate.test(list.get(i))) {
+                            found.set(true);
+                        }
+                    }
+                    return;
+                }
+                int mid = (from + to) >>> 1;
+                invokeAll(new AnyMatchTask<>(list, predicate, from, mid, found),
+                          new AnyMatchTask<>(list, predicate, mid, to, found));
+            }
+        }
+
+        private static class FindFirstTask<T> extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            private final List<T> list;
+            private final Predicate<? super T> predicate;
+            private final int from, to;
+            private final AtomicInteger earliest;
+
+            FindFirstTask(List<T> list, Predicate<? super T> predicate, int from, int to, AtomicInteger earliest) {
+                this.list = list;
+                this.predicate = predicate;
+                this.from = from;
+                this.to = to;
+                this.earliest = earliest;
+            }
+
+            @Override
+            protected void compute() {
+                if (from >= earliest.get()) return;  // A match to our left already exists
+                if (to - from <= LEAF_SIZE) {
+                    for (int i = from; i < to && i < earliest.get(); i++) {
+                        if (predicate.test(list.get(i))) {
+                            earliest.accumulateAndGet(i, Math::min);
+                            return;
+                        }
+                    }
+                    return;
+                }
+                int mid = (from + to) >>> 1;
+                FindFirstTask<T> right = new FindFirstTask<>(list, predicate, mid, to, earliest);
+                right.fork();
+                new FindFirstTask<>(list, predicate, from, mid, earliest).compute();
+                right.join();
+            }
+        }
+    }
+
     public static void main(String[] args) {
         List<Integer> nums = Arrays.asList(1, 3, 5, 7, 8);
         List<String> words = Arrays.asList("Apple", "Banana", "", "Avocado");
@@ -98,5 +345,9 @@ public class MatchFind_Example {
         findAnyEngineering(employees);
         allSalaryAbove(employees, "Engineering", 70000);
         findFirstSalaryAbove(employees, 80000);
+        anyEvenParallel(nums);
+        findFirstSalaryAboveParallel(employees, 80000);
+        allSalaryAboveParallel(employees, 50000);
+        nameExistsWithBloomFilter(employees, Arrays.asList("Charlie", "Zoe", "Mallory"));
     }
 } 
\ No newline at end of file
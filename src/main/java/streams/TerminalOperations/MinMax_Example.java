@@ -4,6 +4,10 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Comparator;
 import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.stream.Collector;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
 
 /**
  * Practice Problems for min() and max():
@@ -12,6 +16,9 @@ import java.util.Arrays;
  * 3. Find the employee with the highest salary.
  * 4. Custom: Find the employee with the lowest age.
  * 5. Custom: Find the string with the maximum length.
+ * 6. Custom: Find the minimum and maximum values without boxed comparisons.
+ * 7. Advanced: Find the employee with the highest salary using a primitive key (argmax).
+ * 8. Advanced: Find the youngest employee in parallel using a primitive key (argmin).
  */
 public class MinMax_Example {
     public static class Employee {
@@ -65,6 +72,94 @@ public class MinMax_Example {
         System.out.println("Output (max length): " + (result.isPresent() ? result.get() : "N/A"));
     }
 
+    // 6. Custom: Find the minimum and maximum values without boxed comparisons.
+    public static void findMinMaxPrimitive(List<Integer> numbers) {
+        System.out.println("Input: " + numbers);
+        // Unbox once per element, then compare plain ints (no Integer::compareTo call per pair).
+        OptionalInt min = numbers.stream().mapToInt(Integer::intValue).min();
+        OptionalInt max = numbers.stream().mapToInt(Integer::intValue).max();
+        System.out.println("Output (min): " + (min.isPresent() ? min.getAsInt() : "N/A"));
+        System.out.println("Output (max): " + (max.isPresent() ? max.getAsInt() : "N/A"));
+    }
+
+    // 7. Advanced: Find the employee with the highest salary using a primitive key (argmax).
+    public static void employeeWithHighestSalaryPrimitive(List<Employee> employees) {
+        System.out.println("Input: " + employees);
+        Optional<Employee> result = employees.stream().collect(maxByDouble(e -> e.salary));
+        System.out.println("Output (highest salary): " + (result.isPresent() ? result.get() : "N/A"));
+    }
+
+    // 8. Advanced: Find the youngest employee in parallel using a primitive key (argmin).
+    public static void youngestEmployeeParallel(List<Employee> employees) {
+        System.out.println("Input: " + employees);
+        Optional<Employee> result = employees.parallelStream().collect(minByInt(e -> e.age));
+        System.out.println("Output (lowest age): " + (result.isPresent() ? result.get() : "N/A"));
+    }
+
+    /*
+     * max(Comparator.comparingDouble(...)) calls the key extractor twice and goes through a
+     * Comparator per element. These collectors extract each key once, keep the best key as a
+     * primitive next to its element, and compare doubles directly. Each parallel split keeps
+     * its own best, and the combiner keeps the left one on ties, so the result is the same
+     * first-encountered element that Stream.max()/min() would return.
+     */
+
+    public static <T> Collector<T, ?, Optional<T>> maxByDouble(ToDoubleFunction<? super T> key) {
+        return argExtreme(key, true);
+    }
+
+    public static <T> Collector<T, ?, Optional<T>> minByDouble(ToDoubleFunction<? super T> key) {
+        return argExtreme(key, false);
+    }
+
+    // int keys are exact as doubles, so they share the same accumulator.
+    public static <T> Collector<T, ?, Optional<T>> maxByInt(ToIntFunction<? super T> key) {
+        return argExtreme(key::applyAsInt, true);
+    }
+
+    public static <T> Collector<T, ?, Optional<T>> minByInt(ToIntFunction<? super T> key) {
+        return argExtreme(key::applyAsInt, false);
+    }
+
+    private static <T> Collector<T, ?, Optional<T>> argExtreme(ToDoubleFunction<? super T> key, boolean max) {
+        return Collector.of(
+                () -> new ArgExtreme<T>(max),
+                (acc, t) -> acc.accept(key.applyAsDouble(t), t),
+                ArgExtreme::combine,
+                acc -> acc.seen ? Optional.of(acc.item) : Optional.empty());
+    }
+
+    // Mutable accumulator: best key so far (as a primitive) and the element it came from.
+    public static class ArgExtreme<T> {
+        private final boolean max;
+        private boolean seen;
+        private double key;
+        private T item;
+
+        public ArgExtreme(boolean max) {
+            this.max = max;
+        }
+
+        public void accept(double k, T t) {
+            if (!seen || isBetter(k)) {
+                seen = true;
+                key = k;
+                item = t;
+            }
+        }
+
+        // Right side wins only if strictly better, so ties keep encounter order.
+        public ArgExtreme<T> combine(ArgExtreme<T> right) {
+            if (right.seen) accept(right.key, right.item);
+            return this;
+        }
+
+        private boolean isBetter(double k) {
+            int cmp = Double.compare(k, key);
+            return max ? cmp > 0 : cmp < 0;
+        }
+    }
+
     public static void main(String[] args) {
         List<Integer> nums = Arrays.asList(5, 2, 8, 1, 3);
         List<String> words = Arrays.asList("banana", "apple", "cherry", "date");
@@ -79,5 +174,8 @@ public class MinMax_Example {
         employeeWithHighestSalary(employees);
         employeeWithLowestAge(employees);
         stringWithMaxLength(words);
+        findMinMaxPrimitive(nums);
+        employeeWithHighestSalaryPrimitive(employees);
+        youngestEmployeeParallel(employees);
     }
 } 
\ No newline at end of file
@@ -3,6 +3,14 @@ package src.main.java.streams.TerminalOperations;
 import java.util.List;
 import java.util.Optional;
 import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Practice Problems for reduce():
@@ -11,6 +19,8 @@ import java.util.Arrays;
  * 3. Concatenate all strings in a list.
  * 4. Advanced: Find the product of all numbers in a list.
  * 5. Advanced: Find the employee with the highest salary.
+ * 6. Custom: Keep count, salary total, highest salary and department counts
+ *    up to date while employees are added, updated and removed.
  */
 public class Reduce_Example {
     public static class Employee {
@@ -64,6 +74,177 @@ public class Reduce_Example {
         System.out.println("Output (highest salary): " + (result.isPresent() ? result.get() : "N/A"));
     }
 
+    // 6. Custom: Keep aggregates up to date while the employee list changes.
+    public static void maintainAggregatesIncrementally(List<Employee> employees) {
+        System.out.println("Input: " + employees);
+        ObservableEmployeeList list = new ObservableEmployeeList();
+        CountAggregate engineering = list.register(new CountAggregate(e -> "Engineering".equals(e.department)));
+        SumAggregate salaryTotal = list.register(new SumAggregate(e -> e.salary));
+        RangeAggregate salaryRange = list.register(new RangeAggregate(e -> e.salary));
+        GroupCountAggregate byDepartment = list.register(new GroupCountAggregate(e -> e.department));
+
+        employees.forEach(list::add);
+        System.out.println("Output (Engineering count): " + engineering.get());
+        System.out.println("Output (salary total): " + salaryTotal.get());
+        System.out.println("Output (highest salary): " + salaryRange.highest().orElse(null));
+        System.out.println("Output (per department): " + byDepartment.get());
+
+        list.set(0, new Employee("Alice", 31, "Engineering", 95000));
+        list.remove(list.size() - 1);
+        System.out.println("After update(0) and remove(last): " + list.asList());
+        System.out.println("Output (Engineering count): " + engineering.get());
+        System.out.println("Output (salary total): " + salaryTotal.get());
+        System.out.println("Output (highest salary): " + salaryRange.highest().orElse(null));
+        System.out.println("Output (per department): " + byDepartment.get());
+    }
+
+    /**
+     * An aggregate that is told about every change instead of re-reducing the whole list.
+     * An update is delivered as onRemove(old) followed by onAdd(new).
+     */
+    public interface Aggregate {
+        void onAdd(Employee e);
+        void onRemove(Employee e);
+    }
+
+    /**
+     * Employee list that notifies its registered aggregates on every add, set and remove,
+     * so reads are O(1) instead of a full stream().reduce(...) per query.
+     * Changes must go through this list: mutating an Employee's fields in place is not seen.
+     */
+    public static class ObservableEmployeeList {
+        private final List<Employee> employees = new ArrayList<>();
+        private final List<Aggregate> aggregates = new ArrayList<>();
+
+        // Registering late replays the current contents into the new aggregate.
+        public <A extends Aggregate> A register(A aggregate) {
+            employees.forEach(aggregate::onAdd);
+            aggregates.add(aggregate);
+            return aggregate;
+        }
+
+        public void add(Employee e) {
+            employees.add(e);
+            aggregates.forEach(a -> a.onAdd(e));
+        }
+
+        public Employee set(int index, Employee e) {
+            Employee old = employees.set(index, e);
+            aggregates.forEach(a -> a.onRemove(old));
+            aggregates.forEach(a -> a.onAdd(e));
+            return old;
+        }
+
+        public Employee remove(int index) {
+            Employee old = employees.remove(index);
+            aggregates.forEach(a -> a.onRemove(old));
+            return old;
+        }
+
+        public int size() {
+            return employees.size();
+        }
+
+        public List<Employee> asList() {
+            return Collections.unmodifiableList(employees);
+        }
+    }
+
+    // Count of employees matching a predicate (e.g. "in Engineering").
+    public static class CountAggregate implements Aggregate {
+        private final Predicate<Employee> predicate;
+        private long count;
+        public CountAggregate(Predicate<Employee> predicate) {
+            this.predicate = predicate;
+        }
+        public void onAdd(Employee e) {
+            if (predicate.test(e)) count++;
+        }
+        public void onRemove(Employee e) {
+            if (predicate.test(e)) count--;
+        }
+        public long get() {
+            return count;
+        }
+    }
+
+    // Running total of a numeric field. Long-lived totals over doubles can drift by
+    // rounding error after many removals, so reconcile against a full reduce() periodically.
+    public static class SumAggregate implements Aggregate {
+        private final ToDoubleFunction<Employee> field;
+        private double sum;
+        public SumAggregate(ToDoubleFunction<Employee> field) {
+            this.field = field;
+        }
+        public void onAdd(Employee e) {
+            sum += field.applyAsDouble(e);
+        }
+        public void onRemove(Employee e) {
+            sum -= field.applyAsDouble(e);
+        }
+        public double get() {
+            return sum;
+        }
+    }
+
+    // Lowest and highest employee by a numeric field. Entries are kept ordered by key
+    // (O(log n) per change) and both ends are cached, so reads are O(1).
+    public static class RangeAggregate implements Aggregate {
+        private final ToDoubleFunction<Employee> field;
+        private final TreeMap<Double, List<Employee>> byKey = new TreeMap<>();
+        private Employee lowest;
+        private Employee highest;
+        public RangeAggregate(ToDoubleFunction<Employee> field) {
+            this.field = field;
+        }
+        public void onAdd(Employee e) {
+            byKey.computeIfAbsent(field.applyAsDouble(e), k -> new ArrayList<>()).add(e);
+            refreshEnds();
+        }
+        public void onRemove(Employee e) {
+            double key = field.applyAsDouble(e);
+            List<Employee> bucket = byKey.get(key);
+            if (bucket == null) return;
+            // Remove one occurrence only: the same object may have been added more than once.
+            for (int i = 0; i < bucket.size(); i++) {
+                if (bucket.get(i) == e) {
+                    bucket.remove(i);
+                    break;
+                }
+            }
+            if (bucket.isEmpty()) byKey.remove(key);
+            refreshEnds();
+        }
+        private void refreshEnds() {
+            lowest = byKey.isEmpty() ? null : byKey.firstEntry().getValue().get(0);
+            highest = byKey.isEmpty() ? null : byKey.lastEntry().getValue().get(0);
+        }
+        public Optional<Employee> lowest() {
+            return Optional.ofNullable(lowest);
+        }
+        public Optional<Employee> highest() {
+            return Optional.ofNullable(highest);
+        }
+    }
+
+    // Count per group key (e.g. per department); empty groups are dropped.
+    public static class GroupCountAggregate implements Aggregate {
+        private final Function<Employee, String> key;
+        private final Map<String, Long> counts = new HashMap<>();
+        public GroupCountAggregate(Function<Employee, String> key) {
+            this.key = key;
+        }
+        public void onAdd(Employee e) {
+            counts.merge(key.apply(e), 1L, Long::sum);
+        }
+        public void onRemove(Employee e) {
+            counts.computeIfPresent(key.apply(e), (k, c) -> c == 1 ? null : c - 1);
+        }
+        public Map<String, Long> get() {
+            return Collections.unmodifiableMap(counts);
+        }
+    }
+
     public static void main(String[] args) {
         List<Integer> nums = Arrays.asList(1, 2, 3, 4, 5);
         List<String> words = Arrays.asList("apple", "banana", "cherry");
@@ -78,5 +259,6 @@ public class Reduce_Example {
         concatenateStrings(words);
         productNumbers(nums);
         employeeWithHighestSalary(employees);
+        maintainAggregatesIncrementally(employees);
     }
 } 
\ No newline at end of file
@@ -2,6 +2,14 @@ package src.main.java.streams.TerminalOperations;
 
 import java.util.List;
 import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Practice Problems for toArray():
@@ -9,6 +17,8 @@ import java.util.Arrays;
  * 2. Convert a list of strings to a String array.
  * 3. Advanced: Convert a list of Employee objects to an Employee array.
  * 4. Custom: Convert a stream of uppercase strings to an array.
+ * 5. Advanced: Collect employee ages into int[] and salaries into double[] without boxing.
+ * 6. Advanced: Fill a primitive array in parallel directly from a sized list.
  */
 public class ToArray_Example {
     public static class Employee {
@@ -55,6 +65,251 @@ public class ToArray_Example {
         System.out.println("Output (Uppercase String[]): " + Arrays.toString(arr));
     }
 
+    // 5. Advanced: Collect employee ages into int[] and salaries into double[] without boxing.
+    public static void toPrimitiveArrays(List<Employee> employees) {
+        System.out.println("Input: " + employees);
+        // Sized source: filled straight into one array of the exact length.
+        int[] ages = toIntArray(employees.stream(), e -> e.age);
+        double[] salaries = toDoubleArray(employees.stream(), e -> e.salary);
+        // filter() makes the size unknown; the chunked buffer grows without copying.
+        long[] highSalaries = employees.stream()
+                .filter(e -> e.salary > 70000)
+                .collect(toLongArray(e -> (long) e.salary));
+        System.out.println("Output (int[] ages): " + Arrays.toString(ages));
+        System.out.println("Output (double[] salaries): " + Arrays.toString(salaries));
+        System.out.println("Output (long[] salaries > 70000): " + Arrays.toString(highSalaries));
+    }
+
+    // 6. Advanced: Fill a primitive array in parallel directly from a sized list.
+    public static void fillAgesInParallel(List<Employee> employees) {
+        System.out.println("Input: " + employees);
+        int[] ages = parallelFillInt(employees, e -> e.age);
+        System.out.println("Output (int[] ages): " + Arrays.toString(ages));
+    }
+
+    // Known size + random access: every worker writes its own indexes of one destination array.
+    public static <T> int[] parallelFillInt(List<T> list, ToIntFunction<? super T> key) {
+        int[] out = new int[list.size()];
+        IntStream.range(0, out.length).parallel().forEach(i -> out[i] = key.applyAsInt(list.get(i)));
+        return out;
+    }
+
+    /*
+     * Collectors from any object stream straight to int[]/long[]/double[] through a key
+     * extractor. Values go into chunked primitive buffers: when a chunk fills, a new chunk
+     * twice as large is added instead of copying everything into a bigger array. The final
+     * array is copied once. Parallel splits append their buffers in encounter order, a
+     * whole chunk at a time.
+     *
+     * A Collector never learns the stream's size, so the toXxxArray(stream, key) overloads
+     * check first: when the source is SIZED and SUBSIZED (list.stream(), map(), sorted(), ...)
+     * mapToXxx(key).toArray() writes every split straight into one preallocated array of the
+     * exact length. Anything else (filter(), flatMap(), ...) falls back to the chunked collector.
+     */
+
+    public static <T> int[] toIntArray(Stream<T> stream, ToIntFunction<? super T> key) {
+        Spliterator<T> source = stream.spliterator();
+        Stream<T> rebuilt = StreamSupport.stream(source, stream.isParallel());
+        return source.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)
+                ? rebuilt.mapToInt(key).toArray()
+                : rebuilt.collect(toIntArray(key));
+    }
+
+    public static <T> long[] toLongArray(Stream<T> stream, ToLongFunction<? super T> key) {
+        Spliterator<T> source = stream.spliterator();
+        Stream<T> rebuilt = StreamSupport.stream(source, stream.isParallel());
+        return source.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)
+                ? rebuilt.mapToLong(key).toArray()
+                : rebuilt.collect(toLongArray(key));
+    }
+
+    public static <T> double[] toDoubleArray(Stream<T> stream, ToDoubleFunction<? super T> key) {
+        Spliterator<T> source = stream.spliterator();
+        Stream<T> rebuilt = StreamSupport.stream(source, stream.isParallel());
+        return source.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)
+                ? rebuilt.mapToDouble(key).toArray()
+                : rebuilt.collect(toDoubleArray(key));
+    }
+
+    public static <T> Collector<T, IntChunkedBuffer, int[]> toIntArray(ToIntFunction<? super T> key) {
+        return Collector.of(IntChunkedBuffer::new,
+                (buf, t) -> buf.add(key.applyAsInt(t)),
+                IntChunkedBuffer::addAll,
+                IntChunkedBuffer::toArray);
+    }
+
+    public static <T> Collector<T, LongChunkedBuffer, long[]> toLongArray(ToLongFunction<? super T> key) {
+        return Collector.of(LongChunkedBuffer::new,
+                (buf, t) -> buf.add(key.applyAsLong(t)),
+                LongChunkedBuffer::addAll,
+                LongChunkedBuffer::toArray);
+    }
+
+    public static <T> Collector<T, DoubleChunkedBuffer, double[]> toDoubleArray(ToDoubleFunction<? super T> key) {
+        return Collector.of(DoubleChunkedBuffer::new,
+                (buf, t) -> buf.add(key.applyAsDouble(t)),
+                DoubleChunkedBuffer::addAll,
+                DoubleChunkedBuffer::toArray);
+    }
+
+    // Growable int list stored as chunks of 16, 32, 64, ... ints. Never copies on growth.
+    public static class IntChunkedBuffer {
+        private int[][] chunks = { new int[16] };
+        private int chunk;        // index of the chunk being filled
+        private int offset;       // next free slot in that chunk
+        private int size;
+
+        public void add(int value) {
+            if (offset == chunks[chunk].length) nextChunk();
+            chunks[chunk][offset++] = value;
+            size++;
+        }
+
+        // Appends other's chunks with one System.arraycopy per destination chunk touched.
+        // An empty side is skipped outright, which is common for small parallel splits.
+        public IntChunkedBuffer addAll(IntChunkedBuffer other) {
+            if (other.size == 0) return this;
+            if (size == 0) return other;
+            for (int c = 0, copied = 0; copied < other.size; c++) {
+                int n = Math.min(other.chunks[c].length, other.size - copied);
+                for (int from = 0; from < n; ) {
+                    if (offset == chunks[chunk].length) nextChunk();
+                    int step = Math.min(n - from, chunks[chunk].length - offset);
+                    System.arraycopy(other.chunks[c], from, chunks[chunk], offset, step);
+                    offset += step;
+                    size += step;
+                    from += step;
+                }
+                copied += n;
+            }
+            return this;
+        }
+
+        private void nextChunk() {
+            if (++chunk == chunks.length) chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            if (chunks[chunk] == null) chunks[chunk] = new int[chunks[chunk - 1].length * 2];
+            offset = 0;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int[] toArray() {
+            int[] out = new int[size];
+            for (int c = 0, copied = 0; copied < size; c++) {
+                int n = Math.min(chunks[c].length, size - copied);
+                System.arraycopy(chunks[c], 0, out, copied, n);
+                copied += n;
+            }
+            return out;
+        }
+    }
+
+    // Same layout as IntChunkedBuffer, for longs.
+    public static class LongChunkedBuffer {
+        private long[][] chunks = { new long[16] };
+        private int chunk;
+        private int offset;
+        private int size;
+
+        public void add(long value) {
+            if (offset == chunks[chunk].length) nextChunk();
+            chunks[chunk][offset++] = value;
+            size++;
+        }
+
+        public LongChunkedBuffer addAll(LongChunkedBuffer other) {
+            if (other.size == 0) return this;
+            if (size == 0) return other;
+            for (int c = 0, copied = 0; copied < other.size; c++) {
+                int n = Math.min(other.chunks[c].length, other.size - copied);
+                for (int from = 0; from < n; ) {
+                    if (offset == chunks[chunk].length) nextChunk();
+                    int step = Math.min(n - from, chunks[chunk].length - offset);
+                    System.arraycopy(other.chunks[c], from, chunks[chunk], offset, step);
+                    offset += step;
+                    size += step;
+                    from += step;
+                }
+                copied += n;
+            }
+            return this;
+        }
+
+        private void nextChunk() {
+            if (++chunk == chunks.length) chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            if (chunks[chunk] == null) chunks[chunk] = new long[chunks[chunk - 1].length * 2];
+            offset = 0;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long[] toArray() {
+            long[] out = new long[size];
+            for (int c = 0, copied = 0; copied < size; c++) {
+                int n = Math.min(chunks[c].length, size - copied);
+                System.arraycopy(chunks[c], 0, out, copied, n);
+                copied += n;
+            }
+            return out;
+        }
+    }
+
+    // Same layout as IntChunkedBuffer, for doubles.
+    public static class DoubleChunkedBuffer {
+        private double[][] chunks = { new double[16] };
+        private int chunk;
+        private int offset;
+        private int size;
+
+        public void add(double value) {
+            if (offset == chunks[chunk].length) nextChunk();
+            chunks[chunk][offset++] = value;
+            size++;
+        }
+
+        public DoubleChunkedBuffer addAll(DoubleChunkedBuffer other) {
+            if (other.size == 0) return this;
+            if (size == 0) return other;
+            for (int c = 0, copied = 0; copied < other.size; c++) {
+                int n = Math.min(other.chunks[c].length, other.size - copied);
+                for (int from = 0; from < n; ) {
+                    if (offset == chunks[chunk].length) nextChunk();
+                    int step = Math.min(n - from, chunks[chunk].length - offset);
+                    System.arraycopy(other.chunks[c], from, chunks[chunk], offset, step);
+                    offset += step;
+                    size += step;
+                    from += step;
+                }
+                copied += n;
+            }
+            return this;
+        }
+
+        private void nextChunk() {
+            if (++chunk == chunks.length) chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            if (chunks[chunk] == null) chunks[chunk] = new double[chunks[chunk - 1].length * 2];
+            offset = 0;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public double[] toArray() {
+            double[] out = new double[size];
+            for (int c = 0, copied = 0; copied < size; c++) {
+                int n = Math.min(chunks[c].length, size - copied);
+                System.arraycopy(chunks[c], 0, out, copied, n);
+                copied += n;
+            }
+            return out;
+        }
+    }
+
     public static void main(String[] args) {
         List<Integer> nums = Arrays.asList(1, 2, 3, 4, 5);
         List<String> words = Arrays.asList("apple", "banana", "cherry");
@@ -67,5 +322,7 @@ public class ToArray_Example {
         toStringArray(words);
         toEmployeeArray(employees);
         uppercaseToArray(words);
+        toPrimitiveArrays(employees);
+        fillAgesInParallel(employees);
     }
 } 
\ No newline at end of file